@@ -0,0 +1,112 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator used to compare the platform-thread and virtual-thread request
+ * modes. Each client repeatedly issues a GET and records latency and status code.
+ *
+ * <pre>
+ * java scripts/LoadTest.java --url http://localhost:8080/api/expenses?size=50 \
+ *      --token $TOKEN --clients 400 --seconds 30
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:8080/api/expenses?size=50"));
+        String token = options.get("token");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null) {
+            requestBuilder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = requestBuilder.build();
+
+        long warmupEnd = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = warmupEnd + Duration.ofSeconds(seconds).toNanos();
+        Map<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+        List<long[]> latencies = new ArrayList<>();
+        int[] recorded = new int[clients];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                long[] samples = new long[1 << 16];
+                latencies.add(samples);
+                int client = i;
+                executor.submit(() -> {
+                    while (true) {
+                        long start = System.nanoTime();
+                        if (start >= end) {
+                            return;
+                        }
+                        int status;
+                        try {
+                            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception ex) {
+                            status = -1;
+                        }
+                        long finished = System.nanoTime();
+                        if (start < warmupEnd) {
+                            continue;
+                        }
+                        statusCounts.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+                        if (status == 200 && recorded[client] < samples.length) {
+                            samples[recorded[client]++] = finished - start;
+                        }
+                    }
+                });
+            }
+        }
+
+        long ok = statusCounts.getOrDefault(200, new AtomicLong()).get();
+        long total = statusCounts.values().stream().mapToLong(AtomicLong::get).sum();
+        long[] all = new long[(int) Math.min(Integer.MAX_VALUE, Arrays.stream(recorded).asLongStream().sum())];
+        int position = 0;
+        for (int i = 0; i < clients; i++) {
+            System.arraycopy(latencies.get(i), 0, all, position, recorded[i]);
+            position += recorded[i];
+        }
+        Arrays.sort(all);
+
+        System.out.printf("clients=%d duration=%ds url=%s%n", clients, seconds, uri);
+        System.out.printf("requests=%d ok/s=%.1f statuses=%s%n", total, ok / (double) seconds, new TreeMap<>(statusCounts));
+        System.out.printf("ok latency ms: p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+                percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), percentile(all, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.ExpenseTrackerApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+
+/**
+ * The full application started against a throwaway embedded Postgres, for benchmarks that need
+ * the real service and repository stack.
+ */
+final class EmbeddedApplication implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedApplication(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static EmbeddedApplication start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.start();
+        // Passed as arguments rather than builder properties, which application.properties would override.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+                .run(
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--server.port=0",
+                        "--app.rollupRebuildCron=-",
+                        "--app.refreshTokenCleanupCron=-",
+                        "--app.idempotencyCleanupCron=-",
+                        "--app.recurringExpenseCron=-",
+                        "--logging.level.root=WARN");
+        return new EmbeddedApplication(postgres, context);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
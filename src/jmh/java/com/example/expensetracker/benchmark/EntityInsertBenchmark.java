@@ -0,0 +1,75 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Expense;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.ExpenseRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persisting several expenses as entities in one transaction, the path Hibernate can only batch
+ * when ids come from a sequence rather than an IDENTITY column.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EntityInsertBenchmark {
+
+    @Param({"10", "100"})
+    private int expensesPerTransaction;
+
+    private EmbeddedApplication application;
+    private ExpenseRepository expenseRepository;
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private Category category;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = EmbeddedApplication.start();
+        expenseRepository = application.getBean(ExpenseRepository.class);
+        transactionTemplate = application.getBean(TransactionTemplate.class);
+
+        user = application.getBean(UserRepository.class).save(new User("bench", "bench@example.com", "unused", "USD"));
+        Category groceries = new Category();
+        groceries.setName("Groceries");
+        groceries.setUser(user);
+        category = application.getBean(CategoryRepository.class).save(groceries);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        application.close();
+    }
+
+    @Benchmark
+    public Object saveAllInOneTransaction() {
+        return transactionTemplate.execute(status -> {
+            List<Expense> expenses = new ArrayList<>(expensesPerTransaction);
+            for (int i = 0; i < expensesPerTransaction; i++) {
+                Expense expense = new Expense();
+                expense.setUser(user);
+                expense.setCategory(category);
+                expense.setAmount(BigDecimal.valueOf(100 + i, 2));
+                expense.setCurrency("USD");
+                expense.setBaseAmount(expense.getAmount());
+                expense.setDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+                expense.setDescription("Benchmark expense " + i);
+                expenses.add(expense);
+            }
+            return expenseRepository.saveAll(expenses);
+        });
+    }
+}
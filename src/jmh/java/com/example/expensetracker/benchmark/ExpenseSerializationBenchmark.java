@@ -0,0 +1,53 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.payload.ExpensePageResponse;
+import com.example.expensetracker.payload.ExpenseResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning query rows into the {@code GET /api/expenses} response body, for page sizes
+ * up to the maximum and for an unpaged history of the size heavy users had before paging.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpenseSerializationBenchmark {
+
+    @Param({"50", "200", "20000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() {
+        // Configured the way Spring Boot configures the MVC message converter.
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        rows = new ArrayList<>(size);
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < size; i++) {
+            rows.add(new Object[]{(long) i, BigDecimal.valueOf(1000 + i, 2), date.plusDays(i % 365), "Expense " + i, "Category " + (i % 12)});
+        }
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        List<ExpenseResponseDto> items = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            items.add(new ExpenseResponseDto((Long) row[0], (BigDecimal) row[1], "USD", (BigDecimal) row[1], (LocalDate) row[2],
+                    (String) row[3], (String) row[4]));
+        }
+        return objectMapper.writeValueAsBytes(new ExpensePageResponse(items, null));
+    }
+}
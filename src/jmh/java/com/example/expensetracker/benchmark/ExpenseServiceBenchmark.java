@@ -0,0 +1,104 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.CategoryRequest;
+import com.example.expensetracker.payload.ExpenseFilter;
+import com.example.expensetracker.payload.ExpenseRequest;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.service.CategoryService;
+import com.example.expensetracker.service.ExpenseService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExpenseService} CRUD through the real Spring, Hibernate and JDBC stack against an
+ * embedded Postgres, for a user who already has a sizeable history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExpenseServiceBenchmark {
+
+    private static final int SEEDED_EXPENSES = 10_000;
+
+    private EmbeddedApplication application;
+    private ExpenseService expenseService;
+    private Long userId;
+    private Long categoryId;
+    private Long existingExpenseId;
+    private List<ExpenseRequest> batchOf100;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = EmbeddedApplication.start();
+        expenseService = application.getBean(ExpenseService.class);
+        CategoryService categoryService = application.getBean(CategoryService.class);
+
+        userId = application.getBean(UserRepository.class)
+                .save(new User("bench", "bench@example.com", "unused", "USD"))
+                .getId();
+        CategoryRequest category = new CategoryRequest();
+        category.setName("Groceries");
+        categoryService.createCategory(category, userId);
+        categoryId = categoryService.getCategoriesForUser(userId).get(0).getId();
+
+        List<ExpenseRequest> seed = new ArrayList<>(SEEDED_EXPENSES);
+        for (int i = 0; i < SEEDED_EXPENSES; i++) {
+            seed.add(request(i));
+        }
+        existingExpenseId = expenseService.createExpenses(seed, userId).get(0).getId();
+
+        batchOf100 = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            batchOf100.add(request(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        application.close();
+    }
+
+    @Benchmark
+    public Object createExpense() {
+        return expenseService.createExpense(request(ThreadLocalRandom.current().nextInt(1000)), userId);
+    }
+
+    @Benchmark
+    public Object createExpensesBatchOf100() {
+        return expenseService.createExpenses(batchOf100, userId);
+    }
+
+    @Benchmark
+    public Object getExpenseById() {
+        return expenseService.getExpenseById(existingExpenseId, userId);
+    }
+
+    @Benchmark
+    public Object getFirstPage() {
+        return expenseService.getExpensesForUser(userId, new ExpenseFilter(), null, 51);
+    }
+
+    @Benchmark
+    public Object updateExpense() {
+        return expenseService.updateExpense(existingExpenseId, request(ThreadLocalRandom.current().nextInt(1000)), userId);
+    }
+
+    private ExpenseRequest request(int i) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setAmount(BigDecimal.valueOf(100 + i % 900, 2));
+        request.setDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+        request.setDescription("Benchmark expense " + i);
+        request.setCategoryId(categoryId);
+        return request;
+    }
+}
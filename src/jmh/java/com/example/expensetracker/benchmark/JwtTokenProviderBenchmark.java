@@ -0,0 +1,54 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.security.JwtTokenProvider;
+import com.example.expensetracker.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification cost, with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "nZr4u7x!A%D*G-KaPdSgVkYp3s5v8y/B?E(H+MbQeThWmZq4t7w9z$C&F)J@NcRf";
+
+    private JwtTokenProvider uncachedProvider;
+    private JwtTokenProvider cachedProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncachedProvider = new JwtTokenProvider(SECRET, 86400000, false, 0, new SimpleMeterRegistry());
+        cachedProvider = new JwtTokenProvider(SECRET, 86400000, true, 10000, new SimpleMeterRegistry());
+        UserPrincipal principal = new UserPrincipal(42L, "bench@example.com", "unused", 0);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, List.of());
+        token = uncachedProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generate() {
+        return uncachedProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public Object verify() {
+        return uncachedProvider.verifyToken(token);
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return cachedProvider.verifyToken(token);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.expensetracker.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * The caching advice is ordered outside the transaction advice, so an eviction on a
+ * transactional write happens after the commit and a concurrent read cannot re-cache the old rows.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+}
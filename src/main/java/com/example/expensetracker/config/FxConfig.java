@@ -0,0 +1,33 @@
+package com.example.expensetracker.config;
+
+import com.example.expensetracker.fx.FxRateTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads the exchange rate table once at startup from {@code app.fxRatesFile}. A malformed file,
+ * or a default base currency the file has no rates for, fails startup rather than the first write.
+ */
+@Configuration
+public class FxConfig {
+
+    @Bean
+    public FxRateTable fxRateTable(@Value("${app.fxRatesFile}") Resource ratesFile,
+                                   @Value("${app.defaultBaseCurrency}") String defaultBaseCurrency) throws IOException {
+        FxRateTable table;
+        try (Reader reader = new InputStreamReader(ratesFile.getInputStream(), StandardCharsets.UTF_8)) {
+            table = FxRateTable.load(reader);
+        }
+        if (!table.supports(defaultBaseCurrency)) {
+            throw new IllegalStateException("No exchange rates for the default base currency " + defaultBaseCurrency + " in " + ratesFile);
+        }
+        return table;
+    }
+}
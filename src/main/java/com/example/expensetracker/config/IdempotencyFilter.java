@@ -0,0 +1,233 @@
+package com.example.expensetracker.config;
+
+import com.example.expensetracker.exception.ConflictException;
+import com.example.expensetracker.exception.ErrorDetails;
+import com.example.expensetracker.exception.UnprocessableEntityException;
+import com.example.expensetracker.payload.IdempotentResponse;
+import com.example.expensetracker.security.UserPrincipal;
+import com.example.expensetracker.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Makes POSTs carrying an {@code Idempotency-Key} header safe to retry. The first request with a
+ * key runs normally and its successful response is stored; retries with the same key and body get
+ * that response back without reaching the controller. Runs after Spring Security so keys are
+ * scoped to the authenticated user.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper, int maxBodyBytes) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // The body is buffered to fingerprint it, so its size is checked before anything is read
+        // when the length is declared, and by reading at most one byte past the limit otherwise.
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, bodyTooLargeMessage());
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, bodyTooLargeMessage());
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        String requestHash = fingerprint(cachedRequest);
+        Long userId = principal.getId();
+
+        Optional<IdempotentResponse> stored;
+        try {
+            stored = idempotencyService.begin(userId, key, requestHash);
+        } catch (ConflictException ex) {
+            writeError(request, response, HttpStatus.CONFLICT, ex.getMessage());
+            return;
+        } catch (UnprocessableEntityException ex) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+            return;
+        }
+        if (stored.isPresent()) {
+            replay(stored.get(), response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachedResponse);
+            // Only successes are remembered; a failed request may be corrected and retried with the same key.
+            if (HttpStatus.valueOf(cachedResponse.getStatus()).is2xxSuccessful()) {
+                idempotencyService.complete(userId, key, new IdempotentResponse(requestHash, cachedResponse.getStatus(),
+                        cachedResponse.getContentType(), cachedResponse.getHeader(HttpHeaders.LOCATION),
+                        cachedResponse.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.release(userId, key, requestHash);
+            }
+            cachedResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getStatusCode());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        if (stored.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.getLocation());
+        }
+        if (stored.getBody() != null) {
+            response.setContentLength(stored.getBody().length);
+            response.getOutputStream().write(stored.getBody());
+        }
+    }
+
+    private String bodyTooLargeMessage() {
+        return "Requests with an " + IDEMPOTENCY_KEY_HEADER + " header must not exceed " + maxBodyBytes + " bytes";
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), message, "uri=" + request.getRequestURI());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+
+    /**
+     * Hashes everything that decides what the request does, so the same key sent to another
+     * endpoint or with another body is recognised as a different request.
+     */
+    private String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + ' ' + request.getContentType() + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Serves a body read up front, so it can be fingerprinted and then handed to the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is already in memory, so a non-blocking reader is told at once
+                 * that it can read everything.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.expensetracker.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Metrics beyond what Spring Boot records on its own. Percentile histograms are switched on per
+ * meter through {@code management.metrics.distribution.percentiles-histogram.*}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Times every public method of classes annotated with {@code @Timed}, tagged with the class
+     * and method name.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public SqlStatementTracker sqlStatementTracker() {
+        return new SqlStatementTracker();
+    }
+
+    /**
+     * Wraps the pooled {@code DataSource} so every statement, whether from Hibernate or
+     * {@code JdbcTemplate}, reaches the {@link SqlStatementTracker}. Static so the post-processor
+     * is registered before the {@code DataSource} is created.
+     */
+    @Bean
+    public static BeanPostProcessor sqlTrackingDataSourcePostProcessor(ObjectProvider<SqlStatementTracker> statementTracker) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(statementTracker.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
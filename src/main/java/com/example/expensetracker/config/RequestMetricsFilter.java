@@ -0,0 +1,195 @@
+package com.example.expensetracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records per-endpoint metrics that {@code http.server.requests} does not cover: the response
+ * body size and the number of SQL statements run while handling the request. Both are
+ * tagged with the method and URI template like the request timer, so a latency spike can be
+ * lined up with the payload and query count of the same endpoint. An outcome tag separates
+ * successful responses from errors, like the request timer's.
+ * <p>
+ * For async requests (streamed exports) the size is recorded when the response completes, but
+ * only statements run on the request thread are counted. An async request that times out or
+ * fails is recorded once, when that happens, with a {@value #TIMEOUT} or {@value #ERROR} outcome.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    private static final String TIMEOUT = "TIMEOUT";
+    private static final String ERROR = "ERROR";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementTracker statementTracker;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, SqlStatementTracker statementTracker) {
+        this.meterRegistry = meterRegistry;
+        this.statementTracker = statementTracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ByteCountingResponse countingResponse = new ByteCountingResponse(response);
+        SqlStatistics statistics = statementTracker.begin();
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            statementTracker.end(statistics);
+        }
+        int statements = statistics.getStatementCount();
+
+        if (request.isAsyncStarted()) {
+            // The container completes a timed-out or failed request too, so only the first event records.
+            AtomicBoolean recorded = new AtomicBoolean();
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    if (recorded.compareAndSet(false, true)) {
+                        record(request, countingResponse, statements, outcome(countingResponse));
+                    }
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    if (recorded.compareAndSet(false, true)) {
+                        record(request, countingResponse, statements, TIMEOUT);
+                    }
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    if (recorded.compareAndSet(false, true)) {
+                        record(request, countingResponse, statements, ERROR);
+                    }
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            countingResponse.flushWriter();
+            record(request, countingResponse, statements, outcome(countingResponse));
+        }
+    }
+
+    private static String outcome(HttpServletResponse response) {
+        return Outcome.forStatus(response.getStatus()).name();
+    }
+
+    private void record(HttpServletRequest request, ByteCountingResponse response, int statements, String outcome) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(),
+                "uri", pattern != null ? pattern.toString() : UNKNOWN_URI,
+                "outcome", outcome);
+        DistributionSummary.builder("http.server.response.size")
+                .description("Response body size")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(response.getBytesWritten());
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements run per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statements);
+    }
+
+    /**
+     * Counts the bytes written to the body, whether through the output stream or the writer.
+     */
+    private static class ByteCountingResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+        private volatile long bytesWritten;
+
+        ByteCountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytesWritten++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytesWritten += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.expensetracker.config;
+
+/**
+ * Raised when a request or a tracked block of work runs more SQL than its budget allows. Only
+ * thrown when the budget is enforced, which is meant for tests; otherwise the overrun is logged.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
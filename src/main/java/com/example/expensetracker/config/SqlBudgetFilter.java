@@ -0,0 +1,59 @@
+package com.example.expensetracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Logs every request that runs more SQL statements, or spends longer in the database, than its
+ * budget, together with the statements it ran. With enforcement on, the filter throws
+ * {@link SqlBudgetExceededException} instead; the response is usually committed by then, but the
+ * exception reaches a MockMvc caller, so an integration test fails on a new N+1. Only SQL run on
+ * the request thread is counted.
+ */
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private final SqlStatementTracker statementTracker;
+    private final int statementBudget;
+    private final long timeBudgetMs;
+    private final boolean enforced;
+
+    public SqlBudgetFilter(SqlStatementTracker statementTracker, int statementBudget, long timeBudgetMs, boolean enforced) {
+        this.statementTracker = statementTracker;
+        this.statementBudget = statementBudget;
+        this.timeBudgetMs = timeBudgetMs;
+        this.enforced = enforced;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        SqlStatistics statistics = statementTracker.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statementTracker.end(statistics);
+        }
+
+        if (statistics.getStatementCount() <= statementBudget && statistics.getElapsedMs() <= timeBudgetMs) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String message = String.format("%s %s ran %d SQL statements in %d ms (budget %d statements, %d ms):%s",
+                request.getMethod(), pattern != null ? pattern : request.getRequestURI(),
+                statistics.getStatementCount(), statistics.getElapsedMs(), statementBudget, timeBudgetMs,
+                statistics.describeStatements());
+        if (enforced) {
+            throw new SqlBudgetExceededException(message);
+        }
+        logger.warn(message);
+    }
+}
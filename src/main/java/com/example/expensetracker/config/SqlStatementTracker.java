@@ -0,0 +1,73 @@
+package com.example.expensetracker.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * Listens to every statement executed through the proxied {@code DataSource} and adds it to the
+ * scopes open on the current thread. Scopes nest, so a test can wrap a request that the request
+ * filters already track. Threads without an open scope are not tracked, so background jobs cost
+ * nothing beyond a thread-local lookup.
+ */
+public class SqlStatementTracker implements QueryExecutionListener {
+
+    private final ThreadLocal<SqlStatistics> current = new ThreadLocal<>();
+
+    public SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics(current.get());
+        current.set(statistics);
+        return statistics;
+    }
+
+    public void end(SqlStatistics statistics) {
+        if (statistics.getParent() != null) {
+            current.set(statistics.getParent());
+        } else {
+            current.remove();
+        }
+    }
+
+    /**
+     * Runs {@code work} on the current thread and fails with {@link SqlBudgetExceededException}
+     * if it executed more than {@code maxStatements} statements. Meant for integration tests,
+     * e.g. around a MockMvc call to pin the statement count of an endpoint.
+     */
+    public <T> T expectAtMost(int maxStatements, Callable<T> work) throws Exception {
+        SqlStatistics statistics = begin();
+        T result;
+        try {
+            result = work.call();
+        } finally {
+            end(statistics);
+        }
+        if (statistics.getStatementCount() > maxStatements) {
+            throw new SqlBudgetExceededException("Expected at most " + maxStatements + " SQL statements but "
+                    + statistics.getStatementCount() + " ran:" + statistics.describeStatements());
+        }
+        return result;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = current.get();
+        if (statistics == null) {
+            return;
+        }
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        if (execInfo.isBatch()) {
+            sql += " [batch of " + execInfo.getBatchSize() + "]";
+        }
+        for (; statistics != null; statistics = statistics.getParent()) {
+            statistics.record(sql, execInfo.getElapsedTime());
+        }
+    }
+}
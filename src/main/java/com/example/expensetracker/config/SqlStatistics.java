@@ -0,0 +1,67 @@
+package com.example.expensetracker.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The SQL run within one {@link SqlStatementTracker} scope: how many statements, how long the
+ * database took, and each distinct statement with its repeat count, so an N+1 shows up as one
+ * line run many times.
+ */
+public class SqlStatistics {
+
+    private static final int MAX_DISTINCT_STATEMENTS = 50;
+
+    private final SqlStatistics parent;
+    private final Map<String, StatementTotals> statements = new LinkedHashMap<>();
+    private int statementCount;
+    private long elapsedMs;
+
+    SqlStatistics(SqlStatistics parent) {
+        this.parent = parent;
+    }
+
+    SqlStatistics getParent() {
+        return parent;
+    }
+
+    void record(String sql, long statementElapsedMs) {
+        statementCount++;
+        elapsedMs += statementElapsedMs;
+        StatementTotals totals = statements.get(sql);
+        if (totals == null && statements.size() < MAX_DISTINCT_STATEMENTS) {
+            totals = new StatementTotals();
+            statements.put(sql, totals);
+        }
+        if (totals != null) {
+            totals.count++;
+            totals.elapsedMs += statementElapsedMs;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * One line per distinct statement in first-run order, prefixed with how often it ran and
+     * for how long in total.
+     */
+    public String describeStatements() {
+        StringBuilder description = new StringBuilder();
+        statements.forEach((sql, totals) -> description.append(String.format("%n  %4dx %6d ms  %s", totals.count, totals.elapsedMs, sql)));
+        if (statements.size() == MAX_DISTINCT_STATEMENTS) {
+            description.append(String.format("%n  (further distinct statements not listed)"));
+        }
+        return description.toString();
+    }
+
+    private static class StatementTotals {
+        private int count;
+        private long elapsedMs;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.expensetracker.config;
+
+import com.example.expensetracker.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class WebConfig {
+
+    /**
+     * Registered first so the sizes of responses written by the other filters, such as 503s from
+     * the concurrency limit, are measured too.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry meterRegistry,
+                                                                             SqlStatementTracker statementTracker) {
+        FilterRegistrationBean<RequestMetricsFilter> registration = new FilterRegistrationBean<>(
+                new RequestMetricsFilter(meterRegistry, statementTracker));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    /**
+     * Registered just inside the metrics filter so the SQL of the security and idempotency
+     * filters counts against the budget too.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(SqlStatementTracker statementTracker,
+                                                                   @Value("${app.sqlStatementBudget:25}") int statementBudget,
+                                                                   @Value("${app.sqlTimeBudgetMs:250}") long timeBudgetMs,
+                                                                   @Value("${app.sqlBudgetEnforced:false}") boolean enforced) {
+        FilterRegistrationBean<SqlBudgetFilter> registration = new FilterRegistrationBean<>(
+                new SqlBudgetFilter(statementTracker, statementBudget, timeBudgetMs, enforced));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 6);
+        return registration;
+    }
+
+    /**
+     * Registered ahead of Spring Security so rejected requests are turned away before any token
+     * verification or database work.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${app.maxConcurrentRequests:60}") int maxConcurrentRequests,
+            @Value("${app.requestPermitTimeoutMs:50}") long requestPermitTimeoutMs,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(maxConcurrentRequests, requestPermitTimeoutMs, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Registered after Spring Security, which has already authenticated the caller whose user id
+     * scopes the keys.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyService idempotencyService,
+                                                                      ObjectMapper objectMapper,
+                                                                      @Value("${app.idempotencyMaxBodyBytes:4194304}") int maxBodyBytes) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyService, objectMapper, maxBodyBytes));
+        registration.addUrlPatterns("/api/expenses", "/api/expenses/batch");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 10);
+        return registration;
+    }
+}
@@ -4,24 +4,34 @@ import com.example.expensetracker.model.User;
 import com.example.expensetracker.payload.LoginRequest;
 import com.example.expensetracker.payload.SignUpRequest;
 import com.example.expensetracker.repository.UserRepository;
-import com.example.expensetracker.security.JwtTokenProvider;
+import com.example.expensetracker.payload.AuthResponse;
+import com.example.expensetracker.payload.RefreshTokenRequest;
+import com.example.expensetracker.security.PasswordHashingExecutor;
+import com.example.expensetracker.security.UserPrincipal;
+import com.example.expensetracker.service.CurrencyService;
+import com.example.expensetracker.service.RefreshTokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication", description = "APIs for user registration and login")
@@ -30,54 +40,110 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtTokenProvider tokenProvider;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
+    private final CurrencyService currencyService;
+    private final String defaultBaseCurrency;
 
-    public AuthController(AuthenticationManager authenticationManager, UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenProvider tokenProvider) {
+    public AuthController(AuthenticationManager authenticationManager, UserRepository userRepository, PasswordEncoder passwordEncoder,
+                          PasswordHashingExecutor passwordHashingExecutor, RefreshTokenService refreshTokenService,
+                          CurrencyService currencyService, @Value("${app.defaultBaseCurrency}") String defaultBaseCurrency) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.tokenProvider = tokenProvider;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.refreshTokenService = refreshTokenService;
+        this.currencyService = currencyService;
+        this.defaultBaseCurrency = defaultBaseCurrency;
     }
 
-    @Operation(summary = "Authenticate user and return JWT")
+    @Operation(summary = "Authenticate user and return a short-lived access token with a refresh token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully authenticated"),
             @ApiResponse(responseCode = "400", description = "Invalid request body"),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent sign-ins")
     })
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        // Password verification runs on the hashing pool; the request thread is released meanwhile.
+        return passwordHashingExecutor.submit(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getEmail(),
+                            loginRequest.getPassword()
+                    )
+            );
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getEmail(),
-                        loginRequest.getPassword()
-                )
-        );
+            return ResponseEntity.ok(refreshTokenService.issueTokens((UserPrincipal) authentication.getPrincipal()));
+        });
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    @Operation(summary = "Exchange a refresh token for a new access token and refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body"),
+            @ApiResponse(responseCode = "401", description = "Refresh token unknown, expired or revoked")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(refreshTokenService.refresh(request.getRefreshToken()));
+    }
 
-        String jwt = tokenProvider.generateToken(authentication);
-        return ResponseEntity.ok(jwt);
+    @Operation(summary = "Revoke a refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Refresh token revoked"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Revoke every refresh token of the authenticated user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "All sessions revoked; access tokens lapse when they expire"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(@AuthenticationPrincipal UserPrincipal currentUser) {
+        refreshTokenService.revokeAll(currentUser.getId());
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Register a new user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User registered successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid request body or email already in use")
+            @ApiResponse(responseCode = "400", description = "Invalid request body or unsupported base currency"),
+            @ApiResponse(responseCode = "409", description = "Email already in use, compared regardless of case"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent sign-ups")
     })
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
         if (userRepository.findByEmail(signUpRequest.getEmail()).isPresent()) {
-            return new ResponseEntity<>("Email Address already in use!", HttpStatus.BAD_REQUEST);
+            return CompletableFuture.completedFuture(new ResponseEntity<>("Email Address already in use!", HttpStatus.CONFLICT));
+        }
+        String baseCurrency = signUpRequest.getBaseCurrency() != null ? signUpRequest.getBaseCurrency() : defaultBaseCurrency;
+        if (!currencyService.isSupported(baseCurrency)) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>("Unsupported base currency: " + baseCurrency, HttpStatus.BAD_REQUEST));
         }
 
-        User user = new User(signUpRequest.getUsername(),
-                signUpRequest.getEmail(),
-                passwordEncoder.encode(signUpRequest.getPassword()));
+        return passwordHashingExecutor.submit(() -> {
+            User user = new User(signUpRequest.getUsername(),
+                    signUpRequest.getEmail(),
+                    passwordEncoder.encode(signUpRequest.getPassword()),
+                    baseCurrency);
 
-        userRepository.save(user);
+            try {
+                userRepository.save(user);
+            } catch (DataIntegrityViolationException ex) {
+                // Lost a race with a concurrent sign-up for the same email.
+                return new ResponseEntity<>("Email Address already in use!", HttpStatus.CONFLICT);
+            }
 
-        return new ResponseEntity<>("User registered successfully", HttpStatus.OK);
+            return new ResponseEntity<>("User registered successfully", HttpStatus.OK);
+        });
     }
 }
@@ -0,0 +1,83 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.payload.BudgetRequest;
+import com.example.expensetracker.payload.BudgetResponseDto;
+import com.example.expensetracker.payload.BudgetStatusResponse;
+import com.example.expensetracker.security.UserPrincipal;
+import com.example.expensetracker.service.BudgetService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+@Tag(name = "Budgets", description = "APIs for monthly per-category budgets and overspend alerts")
+@SecurityRequirement(name = "bearerAuth")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    public BudgetController(BudgetService budgetService) {
+        this.budgetService = budgetService;
+    }
+
+    @Operation(summary = "Get all budgets for the authenticated user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved budgets"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping
+    public ResponseEntity<List<BudgetResponseDto>> getBudgets(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.ok(budgetService.getBudgetsForUser(currentUser.getId()));
+    }
+
+    @Operation(summary = "Set the monthly budget for a category",
+            description = "Creates or replaces the budget, in the user's base currency. An alert is raised the first "
+                    + "time in a month an expense write takes the category's spend to the alert threshold, and again "
+                    + "when it exceeds the budget.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Budget saved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body or category not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PutMapping("/{categoryId}")
+    public ResponseEntity<BudgetResponseDto> setBudget(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                       @PathVariable Long categoryId,
+                                                       @Valid @RequestBody BudgetRequest request) {
+        return ResponseEntity.ok(budgetService.setBudget(categoryId, request, currentUser.getId()));
+    }
+
+    @Operation(summary = "Delete the budget for a category", description = "Alerts already raised are kept.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Budget deleted successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Budget not found")
+    })
+    @DeleteMapping("/{categoryId}")
+    public ResponseEntity<?> deleteBudget(@AuthenticationPrincipal UserPrincipal currentUser, @PathVariable Long categoryId) {
+        budgetService.deleteBudget(categoryId, currentUser.getId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Get spend against each budget for a month",
+            description = "Month is formatted yyyy-MM and defaults to the current month.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved budget status"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/status")
+    public ResponseEntity<BudgetStatusResponse> getBudgetStatus(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                                @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ResponseEntity.ok(budgetService.getBudgetStatus(currentUser.getId(), month != null ? month : YearMonth.now()));
+    }
+}
@@ -1,11 +1,11 @@
 package com.example.expensetracker.controller;
 
 import com.example.expensetracker.model.Category;
-import com.example.expensetracker.model.User;
 import com.example.expensetracker.payload.CategoryRequest;
 import com.example.expensetracker.payload.CategoryResponseDto;
-import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.security.UserPrincipal;
 import com.example.expensetracker.service.CategoryService;
+import com.example.expensetracker.service.DataVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -14,12 +14,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -28,61 +27,55 @@ import java.util.stream.Collectors;
 public class CategoryController {
 
     private final CategoryService categoryService;
-    private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
 
-    public CategoryController(CategoryService categoryService, UserRepository userRepository) {
+    public CategoryController(CategoryService categoryService, DataVersionService dataVersionService) {
         this.categoryService = categoryService;
-        this.userRepository = userRepository;
+        this.dataVersionService = dataVersionService;
     }
 
-    private User getAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found in database. This should not happen."));
-    }
-
-    @Operation(summary = "Get all categories for the authenticated user")
+    @Operation(summary = "Get all categories for the authenticated user",
+            description = "Responses carry a weak ETag; send it back in If-None-Match to get 304 Not Modified when nothing changed.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved categories"),
+            @ApiResponse(responseCode = "304", description = "Nothing changed since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
-    public ResponseEntity<List<CategoryResponseDto>> getCategories() {
-        User user = getAuthenticatedUser();
-        List<Category> categories = categoryService.getCategoriesForUser(user);
-        List<CategoryResponseDto> categoryDtos = categories.stream()
-                .map(this::convertToCategoryDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(categoryDtos);
+    public ResponseEntity<List<CategoryResponseDto>> getCategories(@AuthenticationPrincipal UserPrincipal currentUser, WebRequest webRequest) {
+        Long userId = currentUser.getId();
+        if (webRequest.checkNotModified(DataVersionETag.of(userId, dataVersionService.getDataVersion(userId)))) {
+            return null;
+        }
+        return ResponseEntity.ok(categoryService.getCategoriesForUser(userId));
     }
 
     @Operation(summary = "Create a new category")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Category created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid request or category name already exists"),
-            @ApiResponse(responseCode = "401", description = "Unauthorized")
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "409", description = "Category name already exists")
     })
     @PostMapping
-    public ResponseEntity<?> createCategory(@Valid @RequestBody CategoryRequest request) {
-        User user = getAuthenticatedUser();
-        categoryService.createCategory(request, user);
+    public ResponseEntity<?> createCategory(@AuthenticationPrincipal UserPrincipal currentUser, @Valid @RequestBody CategoryRequest request) {
+        categoryService.createCategory(request, currentUser.getId());
         return new ResponseEntity<>(HttpStatus.CREATED);
     }
 
     @Operation(summary = "Update an existing category")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Category updated successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid request or category name already exists"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "User not authorized to update this category"),
-            @ApiResponse(responseCode = "404", description = "Category not found")
+            @ApiResponse(responseCode = "404", description = "Category not found"),
+            @ApiResponse(responseCode = "409", description = "Category name already exists")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Category> updateCategory(@PathVariable Long id, @Valid @RequestBody CategoryRequest request) {
-        User user = getAuthenticatedUser();
-        Category updatedCategory = categoryService.updateCategory(id, request, user);
-        return ResponseEntity.ok(updatedCategory);
+    public ResponseEntity<CategoryResponseDto> updateCategory(@AuthenticationPrincipal UserPrincipal currentUser, @PathVariable Long id, @Valid @RequestBody CategoryRequest request) {
+        Category updatedCategory = categoryService.updateCategory(id, request, currentUser.getId());
+        return ResponseEntity.ok(convertToCategoryDto(updatedCategory));
     }
 
     @Operation(summary = "Delete a category")
@@ -93,9 +86,8 @@ public class CategoryController {
             @ApiResponse(responseCode = "404", description = "Category not found")
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteCategory(@PathVariable Long id) {
-        User user = getAuthenticatedUser();
-        categoryService.deleteCategory(id, user);
+    public ResponseEntity<?> deleteCategory(@AuthenticationPrincipal UserPrincipal currentUser, @PathVariable Long id) {
+        categoryService.deleteCategory(id, currentUser.getId());
         return ResponseEntity.noContent().build();
     }
 
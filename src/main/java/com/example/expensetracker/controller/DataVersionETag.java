@@ -0,0 +1,16 @@
+package com.example.expensetracker.controller;
+
+/**
+ * Builds the weak ETag for list responses from the user's data version. The user id is part of
+ * the tag so a client that switches accounts never revalidates one user's cached list with
+ * another user's version.
+ */
+final class DataVersionETag {
+
+    private DataVersionETag() {
+    }
+
+    static String of(Long userId, long dataVersion) {
+        return "W/\"" + userId + "-" + dataVersion + "\"";
+    }
+}
@@ -1,25 +1,48 @@
 package com.example.expensetracker.controller;
 
-import com.example.expensetracker.model.Expense;
-import com.example.expensetracker.model.User;
+import com.example.expensetracker.csv.CsvFormatException;
+import com.example.expensetracker.csv.CsvReader;
+import com.example.expensetracker.exception.BadRequestException;
+import com.example.expensetracker.payload.BatchImportResponse;
+import com.example.expensetracker.payload.BatchRowResult;
+import com.example.expensetracker.payload.ExpenseCursor;
+import com.example.expensetracker.payload.ExpenseFilter;
+import com.example.expensetracker.payload.ExpensePageResponse;
 import com.example.expensetracker.payload.ExpenseRequest;
 import com.example.expensetracker.payload.ExpenseResponseDto;
-import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.payload.ExpenseSearchResponse;
+import com.example.expensetracker.payload.ExportFormat;
+import com.example.expensetracker.security.UserPrincipal;
+import com.example.expensetracker.service.DataVersionService;
 import com.example.expensetracker.service.ExpenseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/expenses")
@@ -27,47 +50,168 @@ import java.util.stream.Collectors;
 @SecurityRequirement(name = "bearerAuth")
 public class ExpenseController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final String IDEMPOTENCY_KEY_DESCRIPTION = "Send an Idempotency-Key header to make retries safe: "
+            + "a repeated request with the same key and body returns the original response with Idempotent-Replayed: true.";
+
     private final ExpenseService expenseService;
-    private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
+    private final int batchMaxRows;
 
-    public ExpenseController(ExpenseService expenseService, UserRepository userRepository) {
+    public ExpenseController(ExpenseService expenseService, DataVersionService dataVersionService,
+                             @Value("${app.expenseBatchMaxRows}") int batchMaxRows) {
         this.expenseService = expenseService;
-        this.userRepository = userRepository;
+        this.dataVersionService = dataVersionService;
+        this.batchMaxRows = batchMaxRows;
     }
 
-    private User getAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found in database. This should not happen."));
-    }
-
-    @Operation(summary = "Get all expenses for the authenticated user")
+    @Operation(summary = "Get a page of expenses for the authenticated user, newest first",
+            description = "Responses carry a weak ETag that changes with any write to the user's expenses or categories; "
+                    + "send it back in If-None-Match to get 304 Not Modified when nothing changed.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved expenses"),
+            @ApiResponse(responseCode = "304", description = "Nothing changed since the ETag in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
-    public ResponseEntity<List<ExpenseResponseDto>> getExpenses() {
-        User user = getAuthenticatedUser();
-        List<Expense> expenses = expenseService.getExpensesForUser(user);
-        List<ExpenseResponseDto> expenseDtos = expenses.stream()
-                .map(this::convertToExpenseDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(expenseDtos);
+    public ResponseEntity<ExpensePageResponse> getExpenses(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                           ExpenseFilter filter,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int size,
+                                                           WebRequest webRequest) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ExpenseCursor after = cursor != null ? ExpenseCursor.decode(cursor) : null;
+
+        Long userId = currentUser.getId();
+        if (webRequest.checkNotModified(DataVersionETag.of(userId, dataVersionService.getDataVersion(userId)))) {
+            return null;
+        }
+
+        // Fetch one extra row to learn whether another page exists without a count query.
+        List<ExpenseResponseDto> expenses = expenseService.getExpensesForUser(userId, filter, after, size + 1);
+        String nextCursor = null;
+        if (expenses.size() > size) {
+            expenses = expenses.subList(0, size);
+            ExpenseResponseDto last = expenses.get(size - 1);
+            nextCursor = new ExpenseCursor(last.getDate(), last.getId()).encode();
+        }
+
+        return ResponseEntity.ok(new ExpensePageResponse(expenses, nextCursor));
     }
 
-    @Operation(summary = "Create a new expense")
+    @Operation(summary = "Search expense descriptions, best match first",
+            description = "Every word must match, as a whole word or a word prefix. When nothing matches, "
+                    + "the closest partial matches are returned instead and fuzzy is true.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Expense created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid request body or category not found"),
+            @ApiResponse(responseCode = "200", description = "Successfully searched expenses"),
+            @ApiResponse(responseCode = "400", description = "Empty or too long query, or invalid page or page size"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
+    @GetMapping("/search")
+    public ResponseEntity<ExpenseSearchResponse> searchExpenses(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                                @RequestParam String q,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "50") int size) {
+        if (q.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        if (page < 0) {
+            throw new BadRequestException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(expenseService.searchExpenses(currentUser.getId(), q, page, size));
+    }
+
+    @Operation(summary = "Create a new expense",
+            description = IDEMPOTENCY_KEY_DESCRIPTION)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Expense created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body, category not found or no exchange rate for the currency"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is in progress"),
+            @ApiResponse(responseCode = "413", description = "Body too large to buffer for an Idempotency-Key"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request")
+    })
     @PostMapping
-    public ResponseEntity<?> createExpense(@Valid @RequestBody ExpenseRequest request) {
-        User user = getAuthenticatedUser();
-        expenseService.createExpense(request, user);
-        return new ResponseEntity<>(HttpStatus.CREATED);
+    public ResponseEntity<ExpenseResponseDto> createExpense(@AuthenticationPrincipal UserPrincipal currentUser, @Valid @RequestBody ExpenseRequest request) {
+        ExpenseResponseDto created = expenseService.createExpense(request, currentUser.getId());
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(created.getId())
+                .toUri();
+        return ResponseEntity.created(location).body(created);
+    }
+
+    @Operation(summary = "Create many expenses from a JSON array",
+            description = IDEMPOTENCY_KEY_DESCRIPTION)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-row results"),
+            @ApiResponse(responseCode = "400", description = "Malformed body, too many rows or a category that no longer exists"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is in progress"),
+            @ApiResponse(responseCode = "413", description = "Body too large to buffer for an Idempotency-Key"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request")
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchImportResponse> createExpensesFromJson(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                                      @RequestBody List<ExpenseRequest> requests) {
+        if (requests.size() > batchMaxRows) {
+            throw new BadRequestException("A batch may contain at most " + batchMaxRows + " rows");
+        }
+        List<BatchRowResult> results = expenseService.createExpenses(requests, currentUser.getId());
+        return ResponseEntity.ok(new BatchImportResponse(results));
+    }
+
+    @Operation(summary = "Create many expenses from CSV with columns amount,date,description,categoryId and an optional currency",
+            description = IDEMPOTENCY_KEY_DESCRIPTION)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-row results"),
+            @ApiResponse(responseCode = "400", description = "Malformed CSV, too many rows or a category that no longer exists"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is in progress"),
+            @ApiResponse(responseCode = "413", description = "Body too large to buffer for an Idempotency-Key"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request")
+    })
+    @PostMapping(value = "/batch", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<BatchImportResponse> createExpensesFromCsv(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                                     HttpServletRequest request) throws IOException {
+        Charset charset = request.getCharacterEncoding() != null ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+        List<ExpenseRequest> requests;
+        try (Reader reader = new InputStreamReader(request.getInputStream(), charset)) {
+            requests = readCsvRows(new CsvReader(reader));
+        } catch (CsvFormatException ex) {
+            throw new BadRequestException(ex.getMessage());
+        }
+        List<BatchRowResult> results = expenseService.createExpenses(requests, currentUser.getId());
+        return ResponseEntity.ok(new BatchImportResponse(results));
+    }
+
+    @Operation(summary = "Export the full expense history as CSV or NDJSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                                @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        Long userId = currentUser.getId();
+        StreamingResponseBody body = out -> expenseService.exportExpenses(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"expenses." + exportFormat.getFileExtension() + "\"")
+                .body(body);
     }
 
     @Operation(summary = "Get a single expense by its ID")
@@ -78,25 +222,21 @@ public class ExpenseController {
             @ApiResponse(responseCode = "404", description = "Expense not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Expense> getExpenseById(@PathVariable Long id) {
-        User user = getAuthenticatedUser();
-        Expense expense = expenseService.getExpenseById(id, user);
-        return ResponseEntity.ok(expense);
+    public ResponseEntity<ExpenseResponseDto> getExpenseById(@AuthenticationPrincipal UserPrincipal currentUser, @PathVariable Long id) {
+        return ResponseEntity.ok(expenseService.getExpenseById(id, currentUser.getId()));
     }
 
     @Operation(summary = "Update an existing expense")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Expense updated successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid request body or category not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body, category not found or no exchange rate for the currency"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "User not authorized to update this expense"),
             @ApiResponse(responseCode = "404", description = "Expense not found")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Expense> updateExpense(@PathVariable Long id, @Valid @RequestBody ExpenseRequest request) {
-        User user = getAuthenticatedUser();
-        Expense updatedExpense = expenseService.updateExpense(id, request, user);
-        return ResponseEntity.ok(updatedExpense);
+    public ResponseEntity<ExpenseResponseDto> updateExpense(@AuthenticationPrincipal UserPrincipal currentUser, @PathVariable Long id, @Valid @RequestBody ExpenseRequest request) {
+        return ResponseEntity.ok(expenseService.updateExpense(id, request, currentUser.getId()));
     }
 
     @Operation(summary = "Delete an expense")
@@ -107,19 +247,46 @@ public class ExpenseController {
             @ApiResponse(responseCode = "404", description = "Expense not found")
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteExpense(@PathVariable Long id) {
-        User user = getAuthenticatedUser();
-        expenseService.deleteExpense(id, user);
+    public ResponseEntity<?> deleteExpense(@AuthenticationPrincipal UserPrincipal currentUser, @PathVariable Long id) {
+        expenseService.deleteExpense(id, currentUser.getId());
         return ResponseEntity.noContent().build();
     }
 
-    private ExpenseResponseDto convertToExpenseDto(Expense expense) {
-        return new ExpenseResponseDto(
-                expense.getId(),
-                expense.getAmount(),
-                expense.getDate(),
-                expense.getDescription(),
-                expense.getCategory().getName()
-        );
+    /**
+     * Reads CSV rows into requests as they stream in, skipping an optional header row. Values that
+     * cannot be parsed reject the whole upload; values that parse but are invalid (missing,
+     * negative, unknown category) are left for per-row validation.
+     */
+    private List<ExpenseRequest> readCsvRows(CsvReader csv) throws IOException {
+        List<ExpenseRequest> requests = new ArrayList<>();
+        List<String> fields;
+        boolean first = true;
+        while ((fields = csv.readRecord()) != null) {
+            if (first && !fields.isEmpty() && fields.get(0).trim().equalsIgnoreCase("amount")) {
+                first = false;
+                continue;
+            }
+            first = false;
+            if (requests.size() == batchMaxRows) {
+                throw new BadRequestException("A batch may contain at most " + batchMaxRows + " rows");
+            }
+            if (fields.size() != 4 && fields.size() != 5) {
+                throw new BadRequestException("Expected 4 or 5 columns on line " + csv.getLineNumber() + " but found " + fields.size());
+            }
+            try {
+                ExpenseRequest row = new ExpenseRequest();
+                row.setAmount(fields.get(0).isBlank() ? null : new BigDecimal(fields.get(0).trim()));
+                row.setDate(fields.get(1).isBlank() ? null : LocalDate.parse(fields.get(1).trim()));
+                row.setDescription(fields.get(2).isEmpty() ? null : fields.get(2));
+                row.setCategoryId(fields.get(3).isBlank() ? null : Long.valueOf(fields.get(3).trim()));
+                if (fields.size() == 5 && !fields.get(4).isBlank()) {
+                    row.setCurrency(fields.get(4).trim());
+                }
+                requests.add(row);
+            } catch (NumberFormatException | DateTimeParseException ex) {
+                throw new BadRequestException("Invalid value on line " + csv.getLineNumber() + ": " + ex.getMessage());
+            }
+        }
+        return requests;
     }
 }
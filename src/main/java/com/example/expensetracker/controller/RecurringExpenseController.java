@@ -0,0 +1,70 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.payload.RecurringExpenseRequest;
+import com.example.expensetracker.payload.RecurringExpenseResponseDto;
+import com.example.expensetracker.security.UserPrincipal;
+import com.example.expensetracker.service.RecurringExpenseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-expenses")
+@Tag(name = "Recurring Expenses", description = "APIs for expenses that are posted automatically on a schedule")
+@SecurityRequirement(name = "bearerAuth")
+public class RecurringExpenseController {
+
+    private final RecurringExpenseService recurringExpenseService;
+
+    public RecurringExpenseController(RecurringExpenseService recurringExpenseService) {
+        this.recurringExpenseService = recurringExpenseService;
+    }
+
+    @Operation(summary = "Get all recurring expenses for the authenticated user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved recurring expenses"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping
+    public ResponseEntity<List<RecurringExpenseResponseDto>> getRecurringExpenses(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.ok(recurringExpenseService.getRecurringExpensesForUser(currentUser.getId()));
+    }
+
+    @Operation(summary = "Create a recurring expense",
+            description = "An expense is posted on the start date and then every interval days, weeks, months or years "
+                    + "until the optional end date. Occurrences already due, including a start date in the past, "
+                    + "are posted by the next scheduler run.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Recurring expense created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body, category not found or unsupported currency"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping
+    public ResponseEntity<RecurringExpenseResponseDto> createRecurringExpense(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                                              @Valid @RequestBody RecurringExpenseRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(recurringExpenseService.createRecurringExpense(request, currentUser.getId()));
+    }
+
+    @Operation(summary = "Delete a recurring expense", description = "Expenses it already posted are kept.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Recurring expense deleted successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "User not authorized to delete this recurring expense"),
+            @ApiResponse(responseCode = "404", description = "Recurring expense not found")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteRecurringExpense(@AuthenticationPrincipal UserPrincipal currentUser, @PathVariable Long id) {
+        recurringExpenseService.deleteRecurringExpense(id, currentUser.getId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.payload.CategorySummaryDto;
+import com.example.expensetracker.payload.PeriodSummaryDto;
+import com.example.expensetracker.payload.SummaryGranularity;
+import com.example.expensetracker.security.UserPrincipal;
+import com.example.expensetracker.service.SummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/expenses/summary")
+@Tag(name = "Spending Summary", description = "APIs for aggregated spending reports")
+@SecurityRequirement(name = "bearerAuth")
+public class SummaryController {
+
+    private final SummaryService summaryService;
+
+    public SummaryController(SummaryService summaryService) {
+        this.summaryService = summaryService;
+    }
+
+    @Operation(summary = "Get total, count and average spend per category for a date range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully computed summary"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/by-category")
+    public ResponseEntity<List<CategorySummaryDto>> summarizeByCategory(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(summaryService.summarizeByCategory(currentUser.getId(), from, to));
+    }
+
+    @Operation(summary = "Get total, count and average spend per day, week or month for a date range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully computed summary"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range or granularity"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/by-period")
+    public ResponseEntity<List<PeriodSummaryDto>> summarizeByPeriod(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                    @RequestParam(defaultValue = "month") String granularity) {
+        return ResponseEntity.ok(summaryService.summarizeByPeriod(currentUser.getId(), from, to, SummaryGranularity.fromParameter(granularity)));
+    }
+}
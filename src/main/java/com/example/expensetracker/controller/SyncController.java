@@ -0,0 +1,46 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.exception.BadRequestException;
+import com.example.expensetracker.payload.SyncResponse;
+import com.example.expensetracker.security.UserPrincipal;
+import com.example.expensetracker.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+@Tag(name = "Sync", description = "APIs for incremental client synchronization")
+@SecurityRequirement(name = "bearerAuth")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @Operation(summary = "Get expenses and categories created, updated or deleted after a watermark",
+            description = "Omit since for a full sync. Pass the returned watermark as since on the next call.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+            @ApiResponse(responseCode = "400", description = "Invalid watermark"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping
+    public ResponseEntity<SyncResponse> getChanges(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                   @RequestParam(required = false) Long since) {
+        if (since != null && since < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+        return ResponseEntity.ok(syncService.getChangesSince(currentUser.getId(), since));
+    }
+}
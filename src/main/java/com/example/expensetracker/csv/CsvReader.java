@@ -0,0 +1,107 @@
+package com.example.expensetracker.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma separated, optionally double-quoted fields with
+ * {@code ""} as an escaped quote, and quoted fields may span lines. Records are read one at a
+ * time so the whole input never has to be buffered.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private int lineNumber = 1;
+    private int recordLineNumber = 1;
+    private int pushedBack = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Line on which the most recently returned record started.
+     */
+    public int getLineNumber() {
+        return recordLineNumber;
+    }
+
+    /**
+     * Returns the next record, or {@code null} at end of input. Blank lines are skipped.
+     */
+    public List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawAnything = false;
+        recordLineNumber = lineNumber;
+
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                sawAnything = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                sawAnything = true;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                if (sawAnything || field.length() > 0) {
+                    fields.add(field.toString());
+                    lineNumber++;
+                    return fields;
+                }
+                lineNumber++;
+                recordLineNumber = lineNumber;
+            } else {
+                field.append((char) c);
+                sawAnything = true;
+            }
+        }
+
+        if (quoted) {
+            throw new CsvFormatException("Unterminated quoted field starting before line " + lineNumber);
+        }
+        if (sawAnything || field.length() > 0) {
+            fields.add(field.toString());
+            return fields;
+        }
+        return null;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.expensetracker.fx;
+
+public class FxRateNotFoundException extends RuntimeException {
+    public FxRateNotFoundException(String message) {
+        super(message);
+    }
+}
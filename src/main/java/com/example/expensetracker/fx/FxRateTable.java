@@ -0,0 +1,150 @@
+package com.example.expensetracker.fx;
+
+import com.example.expensetracker.csv.CsvFormatException;
+import com.example.expensetracker.csv.CsvReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Exchange rates held in memory, each quoted as units of a currency per one unit of a common
+ * reference currency and effective from its date until the currency's next rate. Every currency
+ * keeps its effective dates as a sorted {@code int[]} of epoch days, so finding the rate for a
+ * date is a binary search over primitives with nothing allocated. Immutable once loaded.
+ */
+public final class FxRateTable {
+
+    private static final Pattern CURRENCY_CODE = Pattern.compile("[A-Z]{3}");
+
+    /**
+     * Cross rates are computed to 16 significant digits before the result is rounded to cents.
+     */
+    private static final MathContext CROSS_RATE_PRECISION = MathContext.DECIMAL64;
+
+    private final Map<String, CurrencyRates> ratesByCurrency;
+
+    private FxRateTable(Map<String, CurrencyRates> ratesByCurrency) {
+        this.ratesByCurrency = ratesByCurrency;
+    }
+
+    /**
+     * Reads {@code date,currency,rate} records, with an optional header row. Records whose first
+     * field starts with {@code #} are comments. The reference currency itself must be listed
+     * with a rate of 1 to be usable.
+     */
+    public static FxRateTable load(Reader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        Map<String, TreeMap<Integer, BigDecimal>> parsed = new HashMap<>();
+        List<String> fields;
+        while ((fields = csv.readRecord()) != null) {
+            String first = fields.get(0).trim();
+            if (first.startsWith("#") || first.equalsIgnoreCase("date")) {
+                continue;
+            }
+            if (fields.size() != 3) {
+                throw new CsvFormatException("Expected 3 columns on line " + csv.getLineNumber() + " but found " + fields.size());
+            }
+            String currency = fields.get(1).trim();
+            if (!CURRENCY_CODE.matcher(currency).matches()) {
+                throw new CsvFormatException("Invalid currency code on line " + csv.getLineNumber() + ": " + currency);
+            }
+            int epochDay;
+            BigDecimal rate;
+            try {
+                epochDay = Math.toIntExact(LocalDate.parse(first).toEpochDay());
+                rate = new BigDecimal(fields.get(2).trim());
+            } catch (NumberFormatException | DateTimeParseException ex) {
+                throw new CsvFormatException("Invalid value on line " + csv.getLineNumber() + ": " + ex.getMessage());
+            }
+            if (rate.signum() <= 0) {
+                throw new CsvFormatException("Rate must be positive on line " + csv.getLineNumber());
+            }
+            if (parsed.computeIfAbsent(currency, code -> new TreeMap<>()).put(epochDay, rate) != null) {
+                throw new CsvFormatException("Duplicate " + currency + " rate on line " + csv.getLineNumber());
+            }
+        }
+
+        Map<String, CurrencyRates> ratesByCurrency = new HashMap<>();
+        parsed.forEach((currency, rates) -> ratesByCurrency.put(currency, new CurrencyRates(rates)));
+        return new FxRateTable(Map.copyOf(ratesByCurrency));
+    }
+
+    public boolean supports(String currency) {
+        return ratesByCurrency.containsKey(currency);
+    }
+
+    public Set<String> getCurrencies() {
+        return ratesByCurrency.keySet();
+    }
+
+    /**
+     * Converts {@code amount} from one currency to another at the rates effective on {@code date},
+     * rounded half-even to cents. Amounts already in the target currency are returned unchanged
+     * without a lookup.
+     *
+     * @throws FxRateNotFoundException if either currency is unknown or has no rate on or before {@code date}
+     */
+    public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency, LocalDate date) {
+        if (fromCurrency.equals(toCurrency)) {
+            return amount;
+        }
+        int epochDay = Math.toIntExact(date.toEpochDay());
+        BigDecimal fromRate = rateOn(fromCurrency, epochDay, date);
+        BigDecimal toRate = rateOn(toCurrency, epochDay, date);
+        return amount.multiply(toRate)
+                .divide(fromRate, CROSS_RATE_PRECISION)
+                .setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    private BigDecimal rateOn(String currency, int epochDay, LocalDate date) {
+        CurrencyRates rates = ratesByCurrency.get(currency);
+        if (rates == null) {
+            throw new FxRateNotFoundException("Unsupported currency: " + currency);
+        }
+        BigDecimal rate = rates.on(epochDay);
+        if (rate == null) {
+            throw new FxRateNotFoundException("No " + currency + " exchange rate on or before " + date);
+        }
+        return rate;
+    }
+
+    private static final class CurrencyRates {
+        private final int[] effectiveDays;
+        private final BigDecimal[] rates;
+
+        CurrencyRates(TreeMap<Integer, BigDecimal> ratesByDay) {
+            effectiveDays = new int[ratesByDay.size()];
+            rates = new BigDecimal[ratesByDay.size()];
+            int i = 0;
+            for (Map.Entry<Integer, BigDecimal> entry : ratesByDay.entrySet()) {
+                effectiveDays[i] = entry.getKey();
+                rates[i] = entry.getValue();
+                i++;
+            }
+        }
+
+        /**
+         * The latest rate effective on or before {@code epochDay}, or {@code null} if there is none.
+         */
+        BigDecimal on(int epochDay) {
+            int index = Arrays.binarySearch(effectiveDays, epochDay);
+            if (index < 0) {
+                // Not an exact match: step back from the insertion point to the previous date.
+                index = -index - 2;
+            }
+            return index >= 0 ? rates[index] : null;
+        }
+    }
+}
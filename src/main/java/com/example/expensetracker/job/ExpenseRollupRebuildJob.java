@@ -0,0 +1,85 @@
+package com.example.expensetracker.job;
+
+import com.example.expensetracker.repository.ExpenseMonthlyRollupRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Reconciles {@code expense_monthly_rollup} from raw expenses, repairing any drift from the
+ * incremental deltas (manual SQL fixes, rows written before the rollup existed, and so on).
+ * <p>
+ * Users are reconciled in id order, a batch per transaction, and only buckets that differ from
+ * the expenses are written. A batch share-locks its users' rows, which holds back expense writes
+ * for those users only and only until the batch commits. An advisory lock keeps the run to one
+ * node; the others skip it.
+ */
+@Component
+public class ExpenseRollupRebuildJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseRollupRebuildJob.class);
+
+    private final ExpenseMonthlyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate runTransaction;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+
+    public ExpenseRollupRebuildJob(ExpenseMonthlyRollupRepository rollupRepository, UserRepository userRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.rollupReconcileBatchSize:500}") int batchSize) {
+        this.rollupRepository = rollupRepository;
+        this.userRepository = userRepository;
+        this.runTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the number of rollup rows written or deleted, or 0 if another node is running the
+     * reconcile.
+     */
+    @Scheduled(cron = "${app.rollupRebuildCron}")
+    public int reconcile() {
+        long start = System.currentTimeMillis();
+        // The advisory lock lives as long as this outer transaction, which runs no other statement;
+        // each batch commits on its own connection.
+        Integer repaired = runTransaction.execute(status -> {
+            if (!rollupRepository.tryLockForReconcile()) {
+                return null;
+            }
+            int[] rows = {0};
+            long afterId = 0;
+            List<Long> userIds;
+            do {
+                long after = afterId;
+                userIds = batchTransaction.execute(batchStatus -> {
+                    List<Long> batch = userRepository.lockUsersAfter(after, batchSize);
+                    if (!batch.isEmpty()) {
+                        rows[0] += rollupRepository.upsertChangedBuckets(batch) + rollupRepository.deleteStaleBuckets(batch);
+                    }
+                    return batch;
+                });
+                if (!userIds.isEmpty()) {
+                    afterId = userIds.get(userIds.size() - 1);
+                }
+            } while (userIds.size() == batchSize);
+            return rows[0];
+        });
+        if (repaired == null) {
+            logger.info("Skipped the expense_monthly_rollup reconcile; another node is running it");
+            return 0;
+        }
+        logger.info("Reconciled expense_monthly_rollup, repairing {} rows in {} ms", repaired, System.currentTimeMillis() - start);
+        return repaired;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.expensetracker.job;
+
+import com.example.expensetracker.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Purges Idempotency-Key records older than the key TTL, after which the key may be reused.
+ */
+@Component
+public class IdempotencyRecordCleanupJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyRecordCleanupJob.class);
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final long keyTtlMs;
+
+    public IdempotencyRecordCleanupJob(IdempotencyRecordRepository recordRepository,
+                                       @Value("${app.idempotencyKeyTtlMs}") long keyTtlMs) {
+        this.recordRepository = recordRepository;
+        this.keyTtlMs = keyTtlMs;
+    }
+
+    @Scheduled(cron = "${app.idempotencyCleanupCron}")
+    @Transactional
+    public void purgeExpired() {
+        int rows = recordRepository.deleteCreatedBefore(Instant.now().minusMillis(keyTtlMs));
+        logger.info("Deleted {} expired idempotency records", rows);
+    }
+}
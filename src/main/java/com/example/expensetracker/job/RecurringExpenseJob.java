@@ -0,0 +1,32 @@
+package com.example.expensetracker.job;
+
+import com.example.expensetracker.service.RecurringExpenseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Turns due recurring expense occurrences into expenses. Safe to run on every node at once:
+ * rules are locked with {@code SKIP LOCKED}, so each is posted by whichever node locks it first.
+ */
+@Component
+public class RecurringExpenseJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringExpenseJob.class);
+
+    private final RecurringExpenseService recurringExpenseService;
+
+    public RecurringExpenseJob(RecurringExpenseService recurringExpenseService) {
+        this.recurringExpenseService = recurringExpenseService;
+    }
+
+    @Scheduled(cron = "${app.recurringExpenseCron}")
+    public void postDueOccurrences() {
+        long start = System.currentTimeMillis();
+        int posted = recurringExpenseService.postDueOccurrences(LocalDate.now());
+        logger.info("Posted {} recurring expense occurrences in {} ms", posted, System.currentTimeMillis() - start);
+    }
+}
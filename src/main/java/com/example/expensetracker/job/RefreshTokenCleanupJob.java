@@ -0,0 +1,32 @@
+package com.example.expensetracker.job;
+
+import com.example.expensetracker.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Purges refresh tokens that expired without being used or revoked.
+ */
+@Component
+public class RefreshTokenCleanupJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenCleanupJob.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public RefreshTokenCleanupJob(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Scheduled(cron = "${app.refreshTokenCleanupCron}")
+    @Transactional
+    public void purgeExpired() {
+        int rows = refreshTokenRepository.deleteExpired(Instant.now());
+        logger.info("Deleted {} expired refresh tokens", rows);
+    }
+}
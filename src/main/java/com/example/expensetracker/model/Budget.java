@@ -0,0 +1,79 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * A monthly spending limit for one of a user's categories. Spend is read from
+ * {@link ExpenseMonthlyRollup}, never summed from expenses.
+ */
+@Entity
+@Table(name = "budgets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_budgets_user_category", columnNames = {"user_id", "category_id"})
+}, indexes = {
+        @Index(name = "idx_budgets_category_id", columnList = "category_id")
+})
+public class Budget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    /**
+     * Percentage of {@code amount} at which a warning alert is raised.
+     */
+    @Column(name = "alert_threshold_percent", nullable = false)
+    private int alertThresholdPercent;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public int getAlertThresholdPercent() {
+        return alertThresholdPercent;
+    }
+
+    public void setAlertThresholdPercent(int alertThresholdPercent) {
+        this.alertThresholdPercent = alertThresholdPercent;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Raised when a write first takes a category's monthly spend to {@link BudgetLevel#WARNING} or
+ * {@link BudgetLevel#EXCEEDED}. At most one alert per level per month. Ids are plain columns,
+ * like the rollup, so alerts never block deleting a category.
+ */
+@Entity
+@Table(name = "budget_alerts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_budget_alerts_user_category_month_level", columnNames = {"user_id", "category_id", "month", "level"})
+}, indexes = {
+        @Index(name = "idx_budget_alerts_user_month", columnList = "user_id, month")
+})
+public class BudgetAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    /**
+     * First day of the month.
+     */
+    @Column(nullable = false)
+    private LocalDate month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BudgetLevel level;
+
+    /**
+     * The month's spend right after the write that raised the alert.
+     */
+    @Column(nullable = false)
+    private BigDecimal spent;
+
+    @Column(name = "budget_amount", nullable = false)
+    private BigDecimal budgetAmount;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public void setMonth(LocalDate month) {
+        this.month = month;
+    }
+
+    public BudgetLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(BudgetLevel level) {
+        this.level = level;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public void setSpent(BigDecimal spent) {
+        this.spent = spent;
+    }
+
+    public BigDecimal getBudgetAmount() {
+        return budgetAmount;
+    }
+
+    public void setBudgetAmount(BigDecimal budgetAmount) {
+        this.budgetAmount = budgetAmount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
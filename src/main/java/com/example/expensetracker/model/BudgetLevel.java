@@ -0,0 +1,20 @@
+package com.example.expensetracker.model;
+
+import java.math.BigDecimal;
+
+/**
+ * How far a month's spend in a category has got towards its budget, in increasing order.
+ */
+public enum BudgetLevel {
+    OK,
+    WARNING,
+    EXCEEDED;
+
+    public static BudgetLevel of(BigDecimal spent, BigDecimal budget, int alertThresholdPercent) {
+        if (spent.compareTo(budget) > 0) {
+            return EXCEEDED;
+        }
+        BigDecimal threshold = budget.multiply(BigDecimal.valueOf(alertThresholdPercent)).movePointLeft(2);
+        return spent.compareTo(threshold) >= 0 ? WARNING : OK;
+    }
+}
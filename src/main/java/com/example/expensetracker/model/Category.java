@@ -1,22 +1,38 @@
 package com.example.expensetracker.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", uniqueConstraints = {
+        @UniqueConstraint(name = Category.UNIQUE_NAME_CONSTRAINT, columnNames = {"user_id", "name"})
+}, indexes = {
+        @Index(name = "idx_categories_user_data_version", columnList = "user_id, data_version")
+})
 public class Category {
 
+    public static final String UNIQUE_NAME_CONSTRAINT = "uk_categories_user_name";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    /**
+     * The owner's data version at this row's last write; delta sync returns rows above the
+     * client's watermark.
+     */
+    @Column(name = "data_version", nullable = false)
+    @ColumnDefault("0")
+    private long dataVersion;
+
     public Long getId() {
         return id;
     }
@@ -40,4 +56,12 @@ public class Category {
     public void setUser(User user) {
         this.user = user;
     }
+
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    public void setDataVersion(long dataVersion) {
+        this.dataVersion = dataVersion;
+    }
 }
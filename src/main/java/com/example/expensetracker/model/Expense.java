@@ -1,33 +1,67 @@
 package com.example.expensetracker.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+        @Index(name = "idx_expenses_user_date_id", columnList = "user_id, date, id"),
+        @Index(name = "idx_expenses_user_data_version", columnList = "user_id, data_version"),
+        @Index(name = "idx_expenses_category_id", columnList = "category_id")
+})
 public class Expense {
 
+    /**
+     * Ids handed out per sequence call. {@code ExpenseJdbcRepository} reserves ids from the same
+     * sequence and must use the same block size.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_seq")
+    @SequenceGenerator(name = "expenses_seq", sequenceName = "expenses_seq", allocationSize = Expense.ID_ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     @Column(nullable = false)
     private BigDecimal amount;
 
+    /**
+     * ISO 4217 code of {@link #amount}.
+     */
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    /**
+     * {@link #amount} converted to the owner's base currency at the rate effective on
+     * {@link #date}, fixed at write time. Totals, the monthly rollup and budgets sum this column.
+     */
+    @Column(name = "base_amount", nullable = false)
+    private BigDecimal baseAmount;
+
     @Column(nullable = false)
     private LocalDate date;
 
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
+    /**
+     * The owner's data version at this row's last write; delta sync returns rows above the
+     * client's watermark.
+     */
+    @Column(name = "data_version", nullable = false)
+    @ColumnDefault("0")
+    private long dataVersion;
+
     public Long getId() {
         return id;
     }
@@ -52,6 +86,22 @@ public class Expense {
         this.amount = amount;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getBaseAmount() {
+        return baseAmount;
+    }
+
+    public void setBaseAmount(BigDecimal baseAmount) {
+        this.baseAmount = baseAmount;
+    }
+
     public LocalDate getDate() {
         return date;
     }
@@ -75,4 +125,12 @@ public class Expense {
     public void setCategory(Category category) {
         this.category = category;
     }
+
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    public void setDataVersion(long dataVersion) {
+        this.dataVersion = dataVersion;
+    }
 }
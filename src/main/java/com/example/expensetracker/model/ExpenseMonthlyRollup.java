@@ -0,0 +1,83 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Running per-user, per-category, per-month spend. Maintained with deltas by the expense write
+ * path and reconciled from raw expenses by {@code ExpenseRollupRebuildJob}.
+ * Ids are plain columns rather than associations so rows for deleted categories never block
+ * the delete.
+ */
+@Entity
+@IdClass(ExpenseMonthlyRollupId.class)
+@Table(name = "expense_monthly_rollup", indexes = {
+        @Index(name = "idx_expense_monthly_rollup_user_month", columnList = "user_id, month")
+})
+public class ExpenseMonthlyRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    /**
+     * First day of the month.
+     */
+    @Id
+    @Column(name = "month")
+    private LocalDate month;
+
+    /**
+     * Sum of the expenses' {@code baseAmount}, in the user's base currency.
+     */
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private long count;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public void setMonth(LocalDate month) {
+        this.month = month;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.expensetracker.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class ExpenseMonthlyRollupId implements Serializable {
+
+    private Long userId;
+    private Long categoryId;
+    private LocalDate month;
+
+    public ExpenseMonthlyRollupId() {
+    }
+
+    public ExpenseMonthlyRollupId(Long userId, Long categoryId, LocalDate month) {
+        this.userId = userId;
+        this.categoryId = categoryId;
+        this.month = month;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ExpenseMonthlyRollupId that)) return false;
+        return Objects.equals(userId, that.userId)
+                && Objects.equals(categoryId, that.categoryId)
+                && Objects.equals(month, that.month);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, categoryId, month);
+    }
+}
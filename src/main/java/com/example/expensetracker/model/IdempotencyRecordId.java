@@ -0,0 +1,39 @@
+package com.example.expensetracker.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class IdempotencyRecordId implements Serializable {
+
+    private Long userId;
+    private String idempotencyKey;
+
+    public IdempotencyRecordId() {
+    }
+
+    public IdempotencyRecordId(Long userId, String idempotencyKey) {
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IdempotencyRecordId that)) return false;
+        return Objects.equals(userId, that.userId)
+                && Objects.equals(idempotencyKey, that.idempotencyKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, idempotencyKey);
+    }
+}
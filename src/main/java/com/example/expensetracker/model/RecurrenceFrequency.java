@@ -0,0 +1,26 @@
+package com.example.expensetracker.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public enum RecurrenceFrequency {
+    DAILY(ChronoUnit.DAYS),
+    WEEKLY(ChronoUnit.WEEKS),
+    MONTHLY(ChronoUnit.MONTHS),
+    YEARLY(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * The date of occurrence {@code index} (0 is the start date). Always counted from the start
+     * date rather than the previous occurrence, so a schedule starting on the 31st falls on the
+     * last day of shorter months and returns to the 31st afterwards.
+     */
+    public LocalDate occurrence(LocalDate startDate, int interval, int index) {
+        return startDate.plus((long) interval * index, unit);
+    }
+}
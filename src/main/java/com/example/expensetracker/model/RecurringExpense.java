@@ -0,0 +1,159 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A rule that posts the same expense every {@code interval} {@code frequency} units from
+ * {@code startDate} until {@code endDate}. {@code occurrencesPosted} counts the occurrences
+ * already turned into expenses and {@code nextOccurrence} is the date of the next one, or null
+ * once the schedule is exhausted.
+ */
+@Entity
+@Table(name = "recurring_expenses", indexes = {
+        @Index(name = "idx_recurring_expenses_user_id", columnList = "user_id"),
+        @Index(name = "idx_recurring_expenses_category_id", columnList = "category_id"),
+        @Index(name = "idx_recurring_expenses_next_occurrence", columnList = "next_occurrence")
+})
+public class RecurringExpense {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    /**
+     * ISO 4217 code of {@link #amount}, or {@code null} for the owner's base currency.
+     */
+    @Column(length = 3)
+    private String currency;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "interval_count", nullable = false)
+    private int interval;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "occurrences_posted", nullable = false)
+    private int occurrencesPosted;
+
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public int getOccurrencesPosted() {
+        return occurrencesPosted;
+    }
+
+    public void setOccurrencesPosted(int occurrencesPosted) {
+        this.occurrencesPosted = occurrencesPosted;
+    }
+
+    public LocalDate getNextOccurrence() {
+        return nextOccurrence;
+    }
+
+    public void setNextOccurrence(LocalDate nextOccurrence) {
+        this.nextOccurrence = nextOccurrence;
+    }
+}
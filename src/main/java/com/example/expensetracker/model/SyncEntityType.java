@@ -0,0 +1,6 @@
+package com.example.expensetracker.model;
+
+public enum SyncEntityType {
+    EXPENSE,
+    CATEGORY
+}
@@ -0,0 +1,98 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Records that an expense or category was deleted, so delta sync can tell clients to drop it.
+ * Ids are plain columns because the row they point at no longer exists.
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+        @Index(name = "idx_sync_tombstones_user_data_version", columnList = "user_id, data_version")
+})
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /**
+     * The user's data version of the delete.
+     */
+    @Column(name = "data_version", nullable = false)
+    private long dataVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    public SyncTombstone() {
+    }
+
+    public SyncTombstone(Long userId, SyncEntityType entityType, Long entityId, long dataVersion) {
+        this.userId = userId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.dataVersion = dataVersion;
+        this.deletedAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public SyncEntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(SyncEntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    public void setDataVersion(long dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -1,31 +1,60 @@
 package com.example.expensetracker.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "users")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String username;
 
-    @Column(nullable = false, unique = true)
+    /**
+     * Unique regardless of case, through the {@code lower(email)} index.
+     */
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
     private String password;
 
+    /**
+     * Stamped into every access and refresh token. Bumping it invalidates all of the user's
+     * refresh tokens at once.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int tokenVersion;
+
+    /**
+     * Incremented by every write to the user's expenses or categories, so an unchanged value
+     * means unchanged lists. Only ever changed through {@code UserRepository.incrementDataVersion}.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long dataVersion;
+
+    /**
+     * ISO 4217 code that expense amounts are normalized to. Fixed at sign-up, since changing it
+     * would mean reconverting every stored {@code baseAmount}.
+     */
+    @Column(name = "base_currency", nullable = false, length = 3)
+    private String baseCurrency;
+
     public User() {
     }
 
-    public User(String username, String email, String password) {
+    public User(String username, String email, String password, String baseCurrency) {
         this.username = username;
         this.email = email;
         this.password = password;
+        this.baseCurrency = baseCurrency;
     }
 
     public Long getId() {
@@ -59,4 +88,28 @@ public class User {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    public void setDataVersion(long dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public void setBaseCurrency(String baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.expensetracker.payload;
+
+import java.util.List;
+
+public class BatchImportResponse {
+
+    private int created;
+    private int rejected;
+    private List<BatchRowResult> results;
+
+    public BatchImportResponse(List<BatchRowResult> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(r -> r.getStatus() == BatchRowResult.Status.CREATED).count();
+        this.rejected = results.size() - created;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BatchRowResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchRowResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.expensetracker.payload;
+
+import java.util.List;
+
+public class BatchRowResult {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    private int index;
+    private Status status;
+    private Long id;
+    private List<String> errors;
+
+    public BatchRowResult(int index, Status status, Long id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static BatchRowResult created(int index, Long id) {
+        return new BatchRowResult(index, Status.CREATED, id, List.of());
+    }
+
+    public static BatchRowResult rejected(int index, List<String> errors) {
+        return new BatchRowResult(index, Status.REJECTED, null, errors);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
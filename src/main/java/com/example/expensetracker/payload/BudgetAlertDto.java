@@ -0,0 +1,62 @@
+package com.example.expensetracker.payload;
+
+import com.example.expensetracker.model.BudgetLevel;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class BudgetAlertDto {
+    private Long categoryId;
+    private BudgetLevel level;
+    private BigDecimal spent;
+    private BigDecimal budget;
+    private Instant raisedAt;
+
+    public BudgetAlertDto(Long categoryId, BudgetLevel level, BigDecimal spent, BigDecimal budget, Instant raisedAt) {
+        this.categoryId = categoryId;
+        this.level = level;
+        this.spent = spent;
+        this.budget = budget;
+        this.raisedAt = raisedAt;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public BudgetLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(BudgetLevel level) {
+        this.level = level;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public void setSpent(BigDecimal spent) {
+        this.spent = spent;
+    }
+
+    public BigDecimal getBudget() {
+        return budget;
+    }
+
+    public void setBudget(BigDecimal budget) {
+        this.budget = budget;
+    }
+
+    public Instant getRaisedAt() {
+        return raisedAt;
+    }
+
+    public void setRaisedAt(Instant raisedAt) {
+        this.raisedAt = raisedAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.expensetracker.payload;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public class BudgetRequest {
+
+    /**
+     * Monthly limit in the user's base currency.
+     */
+    @NotNull(message = "Amount cannot be null")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @Min(value = 1, message = "Alert threshold must be between 1 and 100 percent")
+    @Max(value = 100, message = "Alert threshold must be between 1 and 100 percent")
+    private int alertThresholdPercent = 80;
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public int getAlertThresholdPercent() {
+        return alertThresholdPercent;
+    }
+
+    public void setAlertThresholdPercent(int alertThresholdPercent) {
+        this.alertThresholdPercent = alertThresholdPercent;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.expensetracker.payload;
+
+import java.math.BigDecimal;
+
+public class BudgetResponseDto {
+    private Long categoryId;
+    private BigDecimal amount;
+    private int alertThresholdPercent;
+
+    public BudgetResponseDto(Long categoryId, BigDecimal amount, int alertThresholdPercent) {
+        this.categoryId = categoryId;
+        this.amount = amount;
+        this.alertThresholdPercent = alertThresholdPercent;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public int getAlertThresholdPercent() {
+        return alertThresholdPercent;
+    }
+
+    public void setAlertThresholdPercent(int alertThresholdPercent) {
+        this.alertThresholdPercent = alertThresholdPercent;
+    }
+}
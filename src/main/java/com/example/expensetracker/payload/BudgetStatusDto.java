@@ -0,0 +1,82 @@
+package com.example.expensetracker.payload;
+
+import com.example.expensetracker.model.BudgetLevel;
+
+import java.math.BigDecimal;
+
+public class BudgetStatusDto {
+    private Long categoryId;
+    private String category;
+    private BigDecimal budget;
+    private BigDecimal spent;
+    private BigDecimal remaining;
+    private int alertThresholdPercent;
+    private BudgetLevel level;
+
+    public BudgetStatusDto(Long categoryId, String category, BigDecimal budget, BigDecimal spent,
+                           int alertThresholdPercent, BudgetLevel level) {
+        this.categoryId = categoryId;
+        this.category = category;
+        this.budget = budget;
+        this.spent = spent;
+        this.remaining = budget.subtract(spent);
+        this.alertThresholdPercent = alertThresholdPercent;
+        this.level = level;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BigDecimal getBudget() {
+        return budget;
+    }
+
+    public void setBudget(BigDecimal budget) {
+        this.budget = budget;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public void setSpent(BigDecimal spent) {
+        this.spent = spent;
+    }
+
+    public BigDecimal getRemaining() {
+        return remaining;
+    }
+
+    public void setRemaining(BigDecimal remaining) {
+        this.remaining = remaining;
+    }
+
+    public int getAlertThresholdPercent() {
+        return alertThresholdPercent;
+    }
+
+    public void setAlertThresholdPercent(int alertThresholdPercent) {
+        this.alertThresholdPercent = alertThresholdPercent;
+    }
+
+    public BudgetLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(BudgetLevel level) {
+        this.level = level;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.expensetracker.payload;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public class BudgetStatusResponse {
+    private YearMonth month;
+    private List<BudgetStatusDto> budgets;
+    private List<BudgetAlertDto> alerts;
+
+    public BudgetStatusResponse(YearMonth month, List<BudgetStatusDto> budgets, List<BudgetAlertDto> alerts) {
+        this.month = month;
+        this.budgets = budgets;
+        this.alerts = alerts;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+
+    public List<BudgetStatusDto> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(List<BudgetStatusDto> budgets) {
+        this.budgets = budgets;
+    }
+
+    public List<BudgetAlertDto> getAlerts() {
+        return alerts;
+    }
+
+    public void setAlerts(List<BudgetAlertDto> alerts) {
+        this.alerts = alerts;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.expensetracker.payload;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public class CategorySummaryDto {
+
+    private Long categoryId;
+    private String categoryName;
+    private BigDecimal total;
+    private Long count;
+    private BigDecimal average;
+
+    public CategorySummaryDto(Long categoryId, String categoryName, BigDecimal total, Long count) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.total = total;
+        this.count = count;
+        this.average = total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getAverage() {
+        return average;
+    }
+
+    public void setAverage(BigDecimal average) {
+        this.average = average;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.expensetracker.payload;
+
+import com.example.expensetracker.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a user's expense list, ordered by {@code date desc, id desc}.
+ * Clients receive it as {@code nextCursor} and send it back unchanged to fetch the following page.
+ */
+public class ExpenseCursor {
+
+    private final LocalDate date;
+    private final Long id;
+
+    public ExpenseCursor(LocalDate date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ExpenseCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new ExpenseCursor(LocalDate.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.expensetracker.payload;
+
+import java.util.List;
+
+public class ExpensePageResponse {
+
+    private List<ExpenseResponseDto> items;
+    private String nextCursor;
+
+    public ExpensePageResponse(List<ExpenseResponseDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ExpenseResponseDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ExpenseResponseDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
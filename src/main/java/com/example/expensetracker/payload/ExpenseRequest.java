@@ -1,6 +1,7 @@
 package com.example.expensetracker.payload;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 
 import java.math.BigDecimal;
@@ -12,6 +13,12 @@ public class ExpenseRequest {
     @Positive(message = "Amount must be positive")
     private BigDecimal amount;
 
+    /**
+     * ISO 4217 code of the amount; the owner's base currency when omitted.
+     */
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
+
     @NotNull(message = "Date cannot be null")
     private LocalDate date;
 
@@ -28,6 +35,14 @@ public class ExpenseRequest {
         this.amount = amount;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
     public LocalDate getDate() {
         return date;
     }
@@ -7,13 +7,18 @@ public class ExpenseResponseDto {
 
     private Long id;
     private BigDecimal amount;
+    private String currency;
+    private BigDecimal baseAmount;
     private LocalDate date;
     private String description;
     private String categoryName;
 
-    public ExpenseResponseDto(Long id, BigDecimal amount, LocalDate date, String description, String categoryName) {
+    public ExpenseResponseDto(Long id, BigDecimal amount, String currency, BigDecimal baseAmount, LocalDate date,
+                              String description, String categoryName) {
         this.id = id;
         this.amount = amount;
+        this.currency = currency;
+        this.baseAmount = baseAmount;
         this.date = date;
         this.description = description;
         this.categoryName = categoryName;
@@ -35,6 +40,22 @@ public class ExpenseResponseDto {
         this.amount = amount;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getBaseAmount() {
+        return baseAmount;
+    }
+
+    public void setBaseAmount(BigDecimal baseAmount) {
+        this.baseAmount = baseAmount;
+    }
+
     public LocalDate getDate() {
         return date;
     }
@@ -0,0 +1,44 @@
+package com.example.expensetracker.payload;
+
+import java.util.List;
+
+public class ExpenseSearchResponse {
+
+    private List<ExpenseResponseDto> items;
+    private Integer nextPage;
+    /**
+     * True when no description contained the search words, and the items are instead the
+     * closest partial matches.
+     */
+    private boolean fuzzy;
+
+    public ExpenseSearchResponse(List<ExpenseResponseDto> items, Integer nextPage, boolean fuzzy) {
+        this.items = items;
+        this.nextPage = nextPage;
+        this.fuzzy = fuzzy;
+    }
+
+    public List<ExpenseResponseDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ExpenseResponseDto> items) {
+        this.items = items;
+    }
+
+    public Integer getNextPage() {
+        return nextPage;
+    }
+
+    public void setNextPage(Integer nextPage) {
+        this.nextPage = nextPage;
+    }
+
+    public boolean isFuzzy() {
+        return fuzzy;
+    }
+
+    public void setFuzzy(boolean fuzzy) {
+        this.fuzzy = fuzzy;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.expensetracker.payload;
+
+/**
+ * The response first returned for an Idempotency-Key, replayed verbatim to retries.
+ */
+public class IdempotentResponse {
+
+    private final String requestHash;
+    private final int statusCode;
+    private final String contentType;
+    private final String location;
+    private final byte[] body;
+
+    public IdempotentResponse(String requestHash, int statusCode, String contentType, String location, byte[] body) {
+        this.requestHash = requestHash;
+        this.statusCode = statusCode;
+        this.contentType = contentType;
+        this.location = location;
+        this.body = body;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.expensetracker.payload;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+public class PeriodSummaryDto {
+
+    private LocalDate periodStart;
+    private BigDecimal total;
+    private Long count;
+    private BigDecimal average;
+
+    public PeriodSummaryDto(LocalDate periodStart, BigDecimal total, Long count) {
+        this.periodStart = periodStart;
+        this.total = total;
+        this.count = count;
+        this.average = total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getAverage() {
+        return average;
+    }
+
+    public void setAverage(BigDecimal average) {
+        this.average = average;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.expensetracker.payload;
+
+import com.example.expensetracker.model.RecurrenceFrequency;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RecurringExpenseRequest {
+
+    @NotNull(message = "Amount cannot be null")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    /**
+     * ISO 4217 code of the amount; the owner's base currency when omitted.
+     */
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
+
+    private String description;
+
+    @NotNull(message = "Category ID cannot be null")
+    private Long categoryId;
+
+    @NotNull(message = "Frequency cannot be null")
+    private RecurrenceFrequency frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    @Max(value = 366, message = "Interval must be at most 366")
+    private int interval = 1;
+
+    @NotNull(message = "Start date cannot be null")
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.expensetracker.payload;
+
+import com.example.expensetracker.model.RecurrenceFrequency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RecurringExpenseResponseDto {
+    private Long id;
+    private BigDecimal amount;
+    private String currency;
+    private String description;
+    private String category;
+    private RecurrenceFrequency frequency;
+    private int interval;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextOccurrence;
+
+    public RecurringExpenseResponseDto(Long id, BigDecimal amount, String currency, String description, String category,
+                                       RecurrenceFrequency frequency, int interval, LocalDate startDate,
+                                       LocalDate endDate, LocalDate nextOccurrence) {
+        this.id = id;
+        this.amount = amount;
+        this.currency = currency;
+        this.description = description;
+        this.category = category;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.nextOccurrence = nextOccurrence;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDate getNextOccurrence() {
+        return nextOccurrence;
+    }
+
+    public void setNextOccurrence(LocalDate nextOccurrence) {
+        this.nextOccurrence = nextOccurrence;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.expensetracker.payload;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 public class SignUpRequest {
@@ -17,6 +18,13 @@ public class SignUpRequest {
     @Size(min = 6, max = 40)
     private String password;
 
+    /**
+     * ISO 4217 code that expenses are totalled in; {@code app.defaultBaseCurrency} when omitted.
+     * Cannot be changed later.
+     */
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String baseCurrency;
+
     public String getUsername() {
         return username;
     }
@@ -40,4 +48,12 @@ public class SignUpRequest {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public void setBaseCurrency(String baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
 }
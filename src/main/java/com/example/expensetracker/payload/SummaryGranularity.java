@@ -0,0 +1,32 @@
+package com.example.expensetracker.payload;
+
+import com.example.expensetracker.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum SummaryGranularity {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    private final String truncUnit;
+
+    SummaryGranularity(String truncUnit) {
+        this.truncUnit = truncUnit;
+    }
+
+    /**
+     * Field name understood by Postgres {@code date_trunc}. Weeks start on Monday.
+     */
+    public String getTruncUnit() {
+        return truncUnit;
+    }
+
+    public static SummaryGranularity fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Granularity must be one of day, week or month");
+        }
+    }
+}
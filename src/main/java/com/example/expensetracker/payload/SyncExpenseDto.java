@@ -0,0 +1,86 @@
+package com.example.expensetracker.payload;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * An expense as delivered by delta sync. It references its category by id rather than by name,
+ * so renaming a category only resends the category.
+ */
+public class SyncExpenseDto {
+
+    private Long id;
+    private BigDecimal amount;
+    private String currency;
+    private BigDecimal baseAmount;
+    private LocalDate date;
+    private String description;
+    private Long categoryId;
+
+    public SyncExpenseDto(Long id, BigDecimal amount, String currency, BigDecimal baseAmount, LocalDate date,
+                          String description, Long categoryId) {
+        this.id = id;
+        this.amount = amount;
+        this.currency = currency;
+        this.baseAmount = baseAmount;
+        this.date = date;
+        this.description = description;
+        this.categoryId = categoryId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getBaseAmount() {
+        return baseAmount;
+    }
+
+    public void setBaseAmount(BigDecimal baseAmount) {
+        this.baseAmount = baseAmount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+}
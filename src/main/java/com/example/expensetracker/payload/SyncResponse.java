@@ -0,0 +1,65 @@
+package com.example.expensetracker.payload;
+
+import java.util.List;
+
+/**
+ * Everything that changed after the client's watermark. Clients upsert {@code expenses} and
+ * {@code categories}, drop the deleted ids, and pass {@code watermark} as {@code since} next time.
+ */
+public class SyncResponse {
+
+    private long watermark;
+    private List<SyncExpenseDto> expenses;
+    private List<CategoryResponseDto> categories;
+    private List<Long> deletedExpenseIds;
+    private List<Long> deletedCategoryIds;
+
+    public SyncResponse(long watermark, List<SyncExpenseDto> expenses, List<CategoryResponseDto> categories,
+                        List<Long> deletedExpenseIds, List<Long> deletedCategoryIds) {
+        this.watermark = watermark;
+        this.expenses = expenses;
+        this.categories = categories;
+        this.deletedExpenseIds = deletedExpenseIds;
+        this.deletedCategoryIds = deletedCategoryIds;
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(long watermark) {
+        this.watermark = watermark;
+    }
+
+    public List<SyncExpenseDto> getExpenses() {
+        return expenses;
+    }
+
+    public void setExpenses(List<SyncExpenseDto> expenses) {
+        this.expenses = expenses;
+    }
+
+    public List<CategoryResponseDto> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryResponseDto> categories) {
+        this.categories = categories;
+    }
+
+    public List<Long> getDeletedExpenseIds() {
+        return deletedExpenseIds;
+    }
+
+    public void setDeletedExpenseIds(List<Long> deletedExpenseIds) {
+        this.deletedExpenseIds = deletedExpenseIds;
+    }
+
+    public List<Long> getDeletedCategoryIds() {
+        return deletedCategoryIds;
+    }
+
+    public void setDeletedCategoryIds(List<Long> deletedCategoryIds) {
+        this.deletedCategoryIds = deletedCategoryIds;
+    }
+}
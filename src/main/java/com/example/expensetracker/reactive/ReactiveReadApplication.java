@@ -0,0 +1,51 @@
+package com.example.expensetracker.reactive;
+
+import com.example.expensetracker.security.JwtTokenProvider;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Non-blocking read-only API for expenses and categories, served by WebFlux on Netty with R2DBC
+ * underneath. It runs as its own process next to the servlet application, shares its
+ * configuration and JWT secret, and listens on {@code app.reactiveReadPort}.
+ * <p>
+ * Start it from the packaged jar with:
+ * <pre>
+ * java -cp expense-tracker.jar -Dloader.main=com.example.expensetracker.reactive.ReactiveReadApplication \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher
+ * </pre>
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class,
+        // The schema belongs to the servlet application, which runs the Flyway migrations.
+        FlywayAutoConfiguration.class
+})
+@Import(JwtTokenProvider.class)
+public class ReactiveReadApplication {
+
+    /**
+     * Tomcat is also on the classpath and would otherwise be picked; Netty keeps the server to a
+     * handful of event-loop threads.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("server.port=${app.reactiveReadPort:8081}")
+                .run(args);
+    }
+}
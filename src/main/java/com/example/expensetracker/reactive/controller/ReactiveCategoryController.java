@@ -0,0 +1,26 @@
+package com.example.expensetracker.reactive.controller;
+
+import com.example.expensetracker.payload.CategoryResponseDto;
+import com.example.expensetracker.reactive.repository.ReactiveCategoryRepository;
+import com.example.expensetracker.security.UserPrincipal;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/categories")
+public class ReactiveCategoryController {
+
+    private final ReactiveCategoryRepository categoryRepository;
+
+    public ReactiveCategoryController(ReactiveCategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    @GetMapping
+    public Flux<CategoryResponseDto> getCategories(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return categoryRepository.findByUserIdOrderById(currentUser.getId());
+    }
+}
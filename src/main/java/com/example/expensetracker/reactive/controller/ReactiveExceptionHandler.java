@@ -0,0 +1,24 @@
+package com.example.expensetracker.reactive.controller;
+
+import com.example.expensetracker.exception.BadRequestException;
+import com.example.expensetracker.exception.ErrorDetails;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.Date;
+
+/**
+ * Same error body as {@code GlobalExceptionHandler}, for the reactive stack.
+ */
+@ControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<?> badRequestException(BadRequestException ex, ServerHttpRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), ex.getMessage(), "uri=" + request.getPath());
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+}
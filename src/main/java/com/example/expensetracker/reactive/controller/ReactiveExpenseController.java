@@ -0,0 +1,87 @@
+package com.example.expensetracker.reactive.controller;
+
+import com.example.expensetracker.exception.BadRequestException;
+import com.example.expensetracker.payload.ExpenseCursor;
+import com.example.expensetracker.payload.ExpenseFilter;
+import com.example.expensetracker.payload.ExpensePageResponse;
+import com.example.expensetracker.payload.ExpenseResponseDto;
+import com.example.expensetracker.reactive.repository.ReactiveExpenseRepository;
+import com.example.expensetracker.security.UserPrincipal;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Read endpoints of {@code ExpenseController} on the reactive stack. {@code application/json}
+ * returns the same keyset pages; {@code application/x-ndjson} streams every matching expense,
+ * one per line, paced by how fast the client reads.
+ */
+@RestController
+@RequestMapping("/api/expenses")
+public class ReactiveExpenseController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    private final ReactiveExpenseRepository expenseRepository;
+
+    public ReactiveExpenseController(ReactiveExpenseRepository expenseRepository) {
+        this.expenseRepository = expenseRepository;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ExpensePageResponse> getExpenses(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                 ExpenseFilter filter,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Mono.error(new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        ExpenseCursor after = cursor != null ? ExpenseCursor.decode(cursor) : null;
+
+        // Fetch one extra row to learn whether another page exists without a count query.
+        return find(currentUser.getId(), filter, after, size + 1)
+                .collectList()
+                .map(expenses -> {
+                    if (expenses.size() <= size) {
+                        return new ExpensePageResponse(expenses, null);
+                    }
+                    List<ExpenseResponseDto> page = expenses.subList(0, size);
+                    ExpenseResponseDto last = page.get(size - 1);
+                    return new ExpensePageResponse(page, new ExpenseCursor(last.getDate(), last.getId()).encode());
+                });
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ExpenseResponseDto> streamExpenses(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                   ExpenseFilter filter,
+                                                   @RequestParam(required = false) String cursor) {
+        ExpenseCursor after = cursor != null ? ExpenseCursor.decode(cursor) : null;
+        Long userId = currentUser.getId();
+
+        // Read in keyset chunks, fetching the next one only when the client has consumed the
+        // previous one. A connection is held per chunk rather than for the whole stream, so slow
+        // readers cannot pin the R2DBC pool.
+        return find(userId, filter, after, STREAM_CHUNK_SIZE).collectList()
+                .expand(chunk -> {
+                    if (chunk.size() < STREAM_CHUNK_SIZE) {
+                        return Mono.empty();
+                    }
+                    ExpenseResponseDto last = chunk.get(chunk.size() - 1);
+                    return find(userId, filter, new ExpenseCursor(last.getDate(), last.getId()), STREAM_CHUNK_SIZE).collectList();
+                })
+                .flatMapIterable(chunk -> chunk);
+    }
+
+    private Flux<ExpenseResponseDto> find(Long userId, ExpenseFilter filter, ExpenseCursor after, int limit) {
+        return expenseRepository.findPage(userId, filter, after, limit);
+    }
+}
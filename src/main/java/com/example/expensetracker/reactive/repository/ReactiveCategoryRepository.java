@@ -0,0 +1,11 @@
+package com.example.expensetracker.reactive.repository;
+
+import com.example.expensetracker.payload.CategoryResponseDto;
+import com.example.expensetracker.reactive.model.CategoryRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveCategoryRepository extends ReactiveCrudRepository<CategoryRow, Long> {
+
+    Flux<CategoryResponseDto> findByUserIdOrderById(Long userId);
+}
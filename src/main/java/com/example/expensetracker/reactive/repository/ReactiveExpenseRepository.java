@@ -0,0 +1,7 @@
+package com.example.expensetracker.reactive.repository;
+
+import com.example.expensetracker.reactive.model.ExpenseRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface ReactiveExpenseRepository extends ReactiveCrudRepository<ExpenseRow, Long>, ReactiveExpenseRepositoryCustom {
+}
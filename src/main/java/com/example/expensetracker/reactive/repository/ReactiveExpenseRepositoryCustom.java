@@ -0,0 +1,15 @@
+package com.example.expensetracker.reactive.repository;
+
+import com.example.expensetracker.payload.ExpenseCursor;
+import com.example.expensetracker.payload.ExpenseFilter;
+import com.example.expensetracker.payload.ExpenseResponseDto;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveExpenseRepositoryCustom {
+
+    /**
+     * Reactive counterpart of {@code ExpenseRepository.findPage}: the same keyset order, optional
+     * filters and DTO shape.
+     */
+    Flux<ExpenseResponseDto> findPage(Long userId, ExpenseFilter filter, ExpenseCursor cursor, int limit);
+}
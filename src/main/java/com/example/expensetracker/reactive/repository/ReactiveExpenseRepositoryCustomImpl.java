@@ -0,0 +1,78 @@
+package com.example.expensetracker.reactive.repository;
+
+import com.example.expensetracker.payload.ExpenseCursor;
+import com.example.expensetracker.payload.ExpenseFilter;
+import com.example.expensetracker.payload.ExpenseResponseDto;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the page query from only the predicates that apply, with the keyset as a row-value
+ * comparison, for the same index use as {@code ExpenseRepositoryCustomImpl}.
+ */
+class ReactiveExpenseRepositoryCustomImpl implements ReactiveExpenseRepositoryCustom {
+
+    private final DatabaseClient databaseClient;
+
+    ReactiveExpenseRepositoryCustomImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<ExpenseResponseDto> findPage(Long userId, ExpenseFilter filter, ExpenseCursor cursor, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                select e.id, e.amount, e.currency, e.base_amount, e.date, e.description, c.name as category_name
+                from expenses e
+                join categories c on c.id = e.category_id
+                where e.user_id = :userId
+                """);
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        bindings.put("userId", userId);
+        if (filter.getCategoryId() != null) {
+            sql.append("  and e.category_id = :categoryId\n");
+            bindings.put("categoryId", filter.getCategoryId());
+        }
+        if (filter.getFrom() != null) {
+            sql.append("  and e.date >= :from\n");
+            bindings.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            sql.append("  and e.date <= :to\n");
+            bindings.put("to", filter.getTo());
+        }
+        if (filter.getMinAmount() != null) {
+            sql.append("  and e.base_amount >= :minAmount\n");
+            bindings.put("minAmount", filter.getMinAmount());
+        }
+        if (filter.getMaxAmount() != null) {
+            sql.append("  and e.base_amount <= :maxAmount\n");
+            bindings.put("maxAmount", filter.getMaxAmount());
+        }
+        if (cursor != null) {
+            sql.append("  and (e.date, e.id) < (:cursorDate, :cursorId)\n");
+            bindings.put("cursorDate", cursor.getDate());
+            bindings.put("cursorId", cursor.getId());
+        }
+        sql.append("order by e.date desc, e.id desc\nlimit :limit");
+        bindings.put("limit", limit);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map((row, metadata) -> new ExpenseResponseDto(
+                        row.get("id", Long.class),
+                        row.get("amount", BigDecimal.class),
+                        row.get("currency", String.class),
+                        row.get("base_amount", BigDecimal.class),
+                        row.get("date", LocalDate.class),
+                        row.get("description", String.class),
+                        row.get("category_name", String.class)))
+                .all();
+    }
+}
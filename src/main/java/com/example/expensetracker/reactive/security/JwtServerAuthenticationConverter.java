@@ -0,0 +1,43 @@
+package com.example.expensetracker.reactive.security;
+
+import com.example.expensetracker.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@code JwtAuthenticationFilter}. The principal is built from the
+ * verified claims alone: looking the user up would mean a blocking JPA call on the event loop,
+ * and the read endpoints only need the user id. Tokens without the user id claim are rejected.
+ */
+public class JwtServerAuthenticationConverter implements ServerAuthenticationConverter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider tokenProvider;
+
+    public JwtServerAuthenticationConverter(JwtTokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    @Override
+    public Mono<Authentication> convert(ServerWebExchange exchange) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith(BEARER_PREFIX)) {
+            return Mono.empty();
+        }
+
+        return Mono.justOrEmpty(tokenProvider.verifyToken(bearerToken.substring(BEARER_PREFIX.length())))
+                .flatMap(this::toAuthentication);
+    }
+
+    private Mono<Authentication> toAuthentication(Claims claims) {
+        return Mono.justOrEmpty(tokenProvider.getPrincipal(claims))
+                .map(principal -> new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
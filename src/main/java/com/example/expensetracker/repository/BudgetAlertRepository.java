@@ -0,0 +1,36 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.BudgetAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    /**
+     * Records the alert unless this level was already reached this month.
+     *
+     * @return 1 if the alert is new, 0 if it was already raised
+     */
+    @Modifying
+    @Query(value = """
+            insert into budget_alerts (user_id, category_id, month, level, spent, budget_amount, created_at)
+            values (:userId, :categoryId, :month, :level, :spent, :budgetAmount, :createdAt)
+            on conflict (user_id, category_id, month, level) do nothing
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("categoryId") Long categoryId,
+                       @Param("month") LocalDate month,
+                       @Param("level") String level,
+                       @Param("spent") BigDecimal spent,
+                       @Param("budgetAmount") BigDecimal budgetAmount,
+                       @Param("createdAt") Instant createdAt);
+
+    List<BudgetAlert> findByUserIdAndMonthOrderByCreatedAt(Long userId, LocalDate month);
+}
@@ -0,0 +1,14 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    List<Budget> findByUserIdOrderByCategoryId(Long userId);
+
+    Optional<Budget> findByUserIdAndCategoryId(Long userId, Long categoryId);
+}
@@ -1,15 +1,22 @@
 package com.example.expensetracker.repository;
 
 import com.example.expensetracker.model.Category;
-import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.CategoryResponseDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
-import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     List<Category> findByUserId(Long userId);
 
-    Optional<Category> findByNameAndUser(String name, User user);
+    @Query("""
+            select new com.example.expensetracker.payload.CategoryResponseDto(c.id, c.name)
+            from Category c
+            where c.user.id = :userId and c.dataVersion > :since
+            order by c.id
+            """)
+    List<CategoryResponseDto> findChangedSince(@Param("userId") Long userId, @Param("since") long since);
 }
@@ -0,0 +1,75 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.Expense;
+import com.example.expensetracker.payload.ExpenseRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Plain JDBC write path for bulk expense inserts. Ids are reserved up front in one round trip,
+ * which lets the rows go out as JDBC batches (rewritten into multi-row inserts by the Postgres
+ * driver's {@code reWriteBatchedInserts}) instead of one insert statement per row.
+ */
+@Repository
+public class ExpenseJdbcRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExpenseJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves {@code count} ids from {@code expenses_seq}. The sequence is shared with Hibernate's
+     * pooled optimizer, so each {@code nextval} owns the block of
+     * {@link Expense#ID_ALLOCATION_SIZE} ids ending at the value returned.
+     */
+    public List<Long> allocateIds(int count) {
+        int blocks = (count + Expense.ID_ALLOCATION_SIZE - 1) / Expense.ID_ALLOCATION_SIZE;
+        List<Long> blockEnds = jdbcTemplate.queryForList(
+                "select nextval('expenses_seq') from generate_series(1, ?)", Long.class, blocks);
+        List<Long> ids = new ArrayList<>(count);
+        for (long blockEnd : blockEnds) {
+            for (long id = blockEnd - Expense.ID_ALLOCATION_SIZE + 1; id <= blockEnd && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Inserts {@code rows} for {@code userId} using the matching entries of {@code ids} and
+     * {@code baseAmounts}, stamped with {@code dataVersion}. Rows without a currency are in
+     * {@code baseCurrency}. Rows must already be validated and their categories checked for
+     * ownership.
+     */
+    public void insertAll(Long userId, List<Long> ids, List<ExpenseRequest> rows, List<BigDecimal> baseAmounts,
+                          String baseCurrency, long dataVersion) {
+        List<Integer> positions = IntStream.range(0, rows.size()).boxed().toList();
+        jdbcTemplate.batchUpdate(
+                "insert into expenses (id, user_id, category_id, amount, currency, base_amount, date, description, data_version)"
+                        + " values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                positions,
+                BATCH_SIZE,
+                (ps, i) -> {
+                    ExpenseRequest row = rows.get(i);
+                    ps.setLong(1, ids.get(i));
+                    ps.setLong(2, userId);
+                    ps.setLong(3, row.getCategoryId());
+                    ps.setBigDecimal(4, row.getAmount());
+                    ps.setString(5, row.getCurrency() != null ? row.getCurrency() : baseCurrency);
+                    ps.setBigDecimal(6, baseAmounts.get(i));
+                    ps.setDate(7, Date.valueOf(row.getDate()));
+                    ps.setString(8, row.getDescription());
+                    ps.setLong(9, dataVersion);
+                });
+    }
+}
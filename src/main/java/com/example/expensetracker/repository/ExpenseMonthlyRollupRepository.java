@@ -0,0 +1,109 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.ExpenseMonthlyRollup;
+import com.example.expensetracker.model.ExpenseMonthlyRollupId;
+import com.example.expensetracker.payload.CategorySummaryDto;
+import com.example.expensetracker.payload.PeriodSummaryDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ExpenseMonthlyRollupRepository extends JpaRepository<ExpenseMonthlyRollup, ExpenseMonthlyRollupId> {
+
+    /**
+     * Adds {@code amount} and {@code count} (either may be negative) to a rollup row, creating
+     * it on first use, and returns the row's new total. The upsert is a single statement, so
+     * concurrent writers for the same bucket serialize on the row instead of losing updates,
+     * and each sees the total including its own change.
+     */
+    @Query(value = """
+            insert into expense_monthly_rollup (user_id, category_id, month, total, count)
+            values (:userId, :categoryId, :month, :amount, :count)
+            on conflict (user_id, category_id, month)
+            do update set total = expense_monthly_rollup.total + excluded.total,
+                          count = expense_monthly_rollup.count + excluded.count
+            returning total
+            """, nativeQuery = true)
+    BigDecimal applyDelta(@Param("userId") Long userId,
+                    @Param("categoryId") Long categoryId,
+                    @Param("month") LocalDate month,
+                    @Param("amount") BigDecimal amount,
+                    @Param("count") long count);
+
+    List<ExpenseMonthlyRollup> findByUserIdAndMonth(Long userId, LocalDate month);
+
+    @Query("""
+            select new com.example.expensetracker.payload.CategorySummaryDto(c.id, c.name, sum(r.total), sum(r.count))
+            from ExpenseMonthlyRollup r, Category c
+            where c.id = r.categoryId
+              and r.userId = :userId
+              and r.month between :from and :to
+            group by c.id, c.name
+            having sum(r.count) > 0
+            order by sum(r.total) desc
+            """)
+    List<CategorySummaryDto> summarizeByCategory(@Param("userId") Long userId,
+                                                 @Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to);
+
+    @Query("""
+            select new com.example.expensetracker.payload.PeriodSummaryDto(r.month, sum(r.total), sum(r.count))
+            from ExpenseMonthlyRollup r
+            where r.userId = :userId
+              and r.month between :from and :to
+            group by r.month
+            having sum(r.count) > 0
+            order by r.month
+            """)
+    List<PeriodSummaryDto> summarizeByMonth(@Param("userId") Long userId,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+
+    /**
+     * Takes the advisory lock that keeps {@code ExpenseRollupRebuildJob} to one node at a time,
+     * held until the surrounding transaction ends. Returns false without waiting if another
+     * transaction holds it.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(hashtext('expense_monthly_rollup'))", nativeQuery = true)
+    boolean tryLockForReconcile();
+
+    /**
+     * Recomputes the given users' buckets from their expenses and writes only those whose total
+     * or count differs from the stored row. Returns the number of rows inserted or updated.
+     */
+    @Modifying
+    @Query(value = """
+            insert into expense_monthly_rollup (user_id, category_id, month, total, count)
+            select e.user_id, e.category_id, cast(date_trunc('month', e.date) as date), sum(e.base_amount), count(*)
+            from expenses e
+            where e.user_id in (:userIds)
+            group by 1, 2, 3
+            on conflict (user_id, category_id, month)
+            do update set total = excluded.total,
+                          count = excluded.count
+            where expense_monthly_rollup.total <> excluded.total
+               or expense_monthly_rollup.count <> excluded.count
+            """, nativeQuery = true)
+    int upsertChangedBuckets(@Param("userIds") List<Long> userIds);
+
+    /**
+     * Deletes the given users' buckets that no longer have any expenses, including the zero
+     * rows the write path leaves behind when a bucket's last expense moves or is deleted.
+     */
+    @Modifying
+    @Query(value = """
+            delete from expense_monthly_rollup r
+            where r.user_id in (:userIds)
+              and not exists (select 1 from expenses e
+                              where e.user_id = r.user_id
+                                and e.category_id = r.category_id
+                                and e.date >= r.month
+                                and e.date < r.month + interval '1 month')
+            """, nativeQuery = true)
+    int deleteStaleBuckets(@Param("userIds") List<Long> userIds);
+}
@@ -1,11 +1,127 @@
 package com.example.expensetracker.repository;
 
 import com.example.expensetracker.model.Expense;
+import com.example.expensetracker.payload.CategorySummaryDto;
+import com.example.expensetracker.payload.ExpenseResponseDto;
+import com.example.expensetracker.payload.SyncExpenseDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseRepositoryCustom {
 
-    List<Expense> findByUserId(Long userId);
+    /**
+     * Streams every expense of a user in chronological order. With a fetch size set, the
+     * Postgres driver reads through a server-side cursor in chunks, and the DTO projection keeps
+     * rows out of the persistence context, so memory stays flat however long the history is.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.example.expensetracker.payload.ExpenseResponseDto(e.id, e.amount, e.currency, e.baseAmount, e.date, e.description, c.name)
+            from Expense e
+            join e.category c
+            where e.user.id = :userId
+            order by e.date, e.id
+            """)
+    Stream<ExpenseResponseDto> streamByUserId(@Param("userId") Long userId);
+
+    /**
+     * Returns the user's expenses written after {@code since}, served by the
+     * {@code (user_id, data_version)} index. The category is referenced by its foreign key, so
+     * no join is needed.
+     */
+    @Query("""
+            select new com.example.expensetracker.payload.SyncExpenseDto(e.id, e.amount, e.currency, e.baseAmount, e.date, e.description, e.category.id)
+            from Expense e
+            where e.user.id = :userId and e.dataVersion > :since
+            order by e.id
+            """)
+    List<SyncExpenseDto> findChangedSince(@Param("userId") Long userId, @Param("since") long since);
+
+    /**
+     * Whether any of the user's descriptions matches {@code tsquery}. Probed through the
+     * {@code (user_id, description_tsv)} GIN index to choose between full-text and trigram search.
+     */
+    @Query(value = """
+            select exists(select 1 from expenses e
+                          where e.user_id = :userId and e.description_tsv @@ to_tsquery('simple', :tsquery))
+            """, nativeQuery = true)
+    boolean existsFullTextMatch(@Param("userId") Long userId, @Param("tsquery") String tsquery);
+
+    /**
+     * Expenses whose description matches {@code tsquery}, best match first. {@code description_tsv}
+     * is a generated column maintained by Postgres (see {@code V1__baseline.sql}).
+     */
+    @Query(value = """
+            select e.id as id, e.amount as amount, e.currency as currency, e.base_amount as baseAmount, e.date as date, e.description as description, c.name as categoryName
+            from expenses e
+            join categories c on c.id = e.category_id
+            where e.user_id = :userId
+              and e.description_tsv @@ to_tsquery('simple', :tsquery)
+            order by ts_rank(e.description_tsv, to_tsquery('simple', :tsquery)) desc, e.date desc, e.id desc
+            limit :limit offset :offset
+            """, nativeQuery = true)
+    List<ExpenseSearchHit> searchFullText(@Param("userId") Long userId,
+                                          @Param("tsquery") String tsquery,
+                                          @Param("limit") int limit,
+                                          @Param("offset") long offset);
+
+    /**
+     * Expenses whose description contains something close to {@code query}, for partial words
+     * and typos the full-text search misses. Served by the trigram GIN index.
+     */
+    @Query(value = """
+            select e.id as id, e.amount as amount, e.currency as currency, e.base_amount as baseAmount, e.date as date, e.description as description, c.name as categoryName
+            from expenses e
+            join categories c on c.id = e.category_id
+            where e.user_id = :userId
+              and :query <% e.description
+            order by word_similarity(:query, e.description) desc, e.date desc, e.id desc
+            limit :limit offset :offset
+            """, nativeQuery = true)
+    List<ExpenseSearchHit> searchTrigram(@Param("userId") Long userId,
+                                         @Param("query") String query,
+                                         @Param("limit") int limit,
+                                         @Param("offset") long offset);
+
+    @EntityGraph(attributePaths = "category")
+    Optional<Expense> findWithCategoryById(Long id);
+
+    @Query("""
+            select new com.example.expensetracker.payload.CategorySummaryDto(c.id, c.name, sum(e.baseAmount), count(e))
+            from Expense e
+            join e.category c
+            where e.user.id = :userId
+              and e.date between :from and :to
+            group by c.id, c.name
+            order by sum(e.baseAmount) desc
+            """)
+    List<CategorySummaryDto> summarizeByCategory(@Param("userId") Long userId,
+                                                 @Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to);
+
+    @Query(value = """
+            select cast(date_trunc(:unit, e.date) as date) as periodStart,
+                   sum(e.base_amount) as total,
+                   count(*) as count
+            from expenses e
+            where e.user_id = :userId
+              and e.date between :from and :to
+            group by 1
+            order by 1
+            """, nativeQuery = true)
+    List<PeriodTotal> summarizeByPeriod(@Param("userId") Long userId,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        @Param("unit") String unit);
 }
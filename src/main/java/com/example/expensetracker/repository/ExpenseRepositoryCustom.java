@@ -0,0 +1,23 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.payload.ExpenseCursor;
+import com.example.expensetracker.payload.ExpenseFilter;
+import com.example.expensetracker.payload.ExpenseResponseDto;
+
+import java.util.List;
+
+public interface ExpenseRepositoryCustom {
+
+    /**
+     * Keyset page of a user's expenses, newest first. Rows strictly after {@code cursor} in
+     * {@code date desc, id desc} order are returned, or the first page when it is {@code null},
+     * so the cost is bounded by the page size rather than by how deep the client has paged.
+     * Unset filter fields are left out of the query. Amount bounds apply to the base-currency
+     * amount, so expenses entered in different currencies compare consistently.
+     * <p>
+     * Rows are projected straight into DTOs with the category name joined in, so a page is a
+     * single SQL statement and neither the owning {@code User} nor whole {@code Category}
+     * entities are loaded.
+     */
+    List<ExpenseResponseDto> findPage(Long userId, ExpenseFilter filter, ExpenseCursor cursor, int limit);
+}
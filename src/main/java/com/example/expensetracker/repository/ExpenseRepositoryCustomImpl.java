@@ -0,0 +1,66 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.payload.ExpenseCursor;
+import com.example.expensetracker.payload.ExpenseFilter;
+import com.example.expensetracker.payload.ExpenseResponseDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the page query from only the predicates that apply. Catch-all {@code (:x is null or ...)}
+ * conditions and an OR-ed keyset condition leave Postgres unable to start an index range, so
+ * the keyset is a row-value comparison that walks the {@code (user_id, date, id)} index
+ * backwards from the cursor.
+ */
+class ExpenseRepositoryCustomImpl implements ExpenseRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ExpenseResponseDto> findPage(Long userId, ExpenseFilter filter, ExpenseCursor cursor, int limit) {
+        StringBuilder jpql = new StringBuilder("""
+                select new com.example.expensetracker.payload.ExpenseResponseDto(e.id, e.amount, e.currency, e.baseAmount, e.date, e.description, c.name)
+                from Expense e
+                join e.category c
+                where e.user.id = :userId
+                """);
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("userId", userId);
+        if (filter.getCategoryId() != null) {
+            jpql.append("  and c.id = :categoryId\n");
+            parameters.put("categoryId", filter.getCategoryId());
+        }
+        if (filter.getFrom() != null) {
+            jpql.append("  and e.date >= :from\n");
+            parameters.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            jpql.append("  and e.date <= :to\n");
+            parameters.put("to", filter.getTo());
+        }
+        if (filter.getMinAmount() != null) {
+            jpql.append("  and e.baseAmount >= :minAmount\n");
+            parameters.put("minAmount", filter.getMinAmount());
+        }
+        if (filter.getMaxAmount() != null) {
+            jpql.append("  and e.baseAmount <= :maxAmount\n");
+            parameters.put("maxAmount", filter.getMaxAmount());
+        }
+        if (cursor != null) {
+            jpql.append("  and (e.date, e.id) < (:cursorDate, :cursorId)\n");
+            parameters.put("cursorDate", cursor.getDate());
+            parameters.put("cursorId", cursor.getId());
+        }
+        jpql.append("order by e.date desc, e.id desc");
+
+        TypedQuery<ExpenseResponseDto> query = entityManager.createQuery(jpql.toString(), ExpenseResponseDto.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.expensetracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Row of a native description search over expenses, with the category name joined in.
+ */
+public interface ExpenseSearchHit {
+    Long getId();
+    BigDecimal getAmount();
+    String getCurrency();
+    BigDecimal getBaseAmount();
+    LocalDate getDate();
+    String getDescription();
+    String getCategoryName();
+}
@@ -0,0 +1,55 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.IdempotencyRecord;
+import com.example.expensetracker.model.IdempotencyRecordId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecordId> {
+
+    /**
+     * Claims the key for a new request in one statement. An existing row is only taken over once
+     * it has expired, or once an unfinished claim is older than the lock timeout (its request
+     * died without releasing it). Returns 1 when the caller now owns the key.
+     */
+    @Modifying
+    @Query(value = "insert into idempotency_records (user_id, idempotency_key, request_hash, created_at) " +
+            "values (:userId, :key, :requestHash, :now) " +
+            "on conflict (user_id, idempotency_key) do update set " +
+            "request_hash = excluded.request_hash, status_code = null, content_type = null, " +
+            "location = null, response_body = null, created_at = excluded.created_at " +
+            "where idempotency_records.created_at < :expiredBefore " +
+            "or (idempotency_records.status_code is null and idempotency_records.created_at < :abandonedBefore)",
+            nativeQuery = true)
+    int claim(@Param("userId") Long userId,
+              @Param("key") String key,
+              @Param("requestHash") String requestHash,
+              @Param("now") Instant now,
+              @Param("expiredBefore") Instant expiredBefore,
+              @Param("abandonedBefore") Instant abandonedBefore);
+
+    @Modifying
+    @Query("update IdempotencyRecord r set r.statusCode = :statusCode, r.contentType = :contentType, " +
+            "r.location = :location, r.responseBody = :responseBody " +
+            "where r.userId = :userId and r.idempotencyKey = :key and r.requestHash = :requestHash and r.statusCode is null")
+    int complete(@Param("userId") Long userId,
+                 @Param("key") String key,
+                 @Param("requestHash") String requestHash,
+                 @Param("statusCode") Integer statusCode,
+                 @Param("contentType") String contentType,
+                 @Param("location") String location,
+                 @Param("responseBody") byte[] responseBody);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.userId = :userId and r.idempotencyKey = :key " +
+            "and r.requestHash = :requestHash and r.statusCode is null")
+    int release(@Param("userId") Long userId, @Param("key") String key, @Param("requestHash") String requestHash);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+}
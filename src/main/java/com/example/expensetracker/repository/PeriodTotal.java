@@ -0,0 +1,13 @@
+package com.example.expensetracker.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Row of a native {@code GROUP BY} aggregate over expenses, bucketed by period start.
+ */
+public interface PeriodTotal {
+    LocalDate getPeriodStart();
+    BigDecimal getTotal();
+    Long getCount();
+}
@@ -0,0 +1,30 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.RecurringExpense;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RecurringExpenseRepository extends JpaRepository<RecurringExpense, Long> {
+
+    List<RecurringExpense> findByUserIdOrderById(Long userId);
+
+    /**
+     * Locks the next {@code limit} rules due on or before {@code today} with ids above
+     * {@code afterId}. Rules locked by another node are skipped rather than waited for, so
+     * several nodes can work through the due rules at once without posting an occurrence twice.
+     */
+    @Query(value = """
+            select * from recurring_expenses
+            where next_occurrence <= :today and id > :afterId
+            order by id
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<RecurringExpense> lockDueBatch(@Param("today") LocalDate today,
+                                        @Param("afterId") long afterId,
+                                        @Param("limit") int limit);
+}
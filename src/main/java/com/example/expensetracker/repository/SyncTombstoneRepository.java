@@ -0,0 +1,21 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.SyncEntityType;
+import com.example.expensetracker.model.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("""
+            select t.entityId from SyncTombstone t
+            where t.userId = :userId and t.entityType = :entityType and t.dataVersion > :since
+            order by t.entityId
+            """)
+    List<Long> findDeletedIdsSince(@Param("userId") Long userId,
+                                   @Param("entityType") SyncEntityType entityType,
+                                   @Param("since") long since);
+}
@@ -2,12 +2,51 @@ package com.example.expensetracker.repository;
 
 import com.example.expensetracker.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
-    Optional<User> findByEmail(String email);
+    /**
+     * Case-insensitive, served by the unique {@code lower(email)} index.
+     */
+    @Query("select u from User u where lower(u.email) = lower(:email)")
+    Optional<User> findByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    @Query("select u.dataVersion from User u where u.id = :id")
+    Optional<Long> findDataVersionById(@Param("id") Long id);
+
+    @Query("select u.baseCurrency from User u where u.id = :id")
+    Optional<String> findBaseCurrencyById(@Param("id") Long id);
+
+    /**
+     * Increments and returns the data version in one statement. The row lock it takes is held
+     * until the caller's transaction ends, so concurrent writers for the same user commit their
+     * versions in order.
+     */
+    @Query(value = "update users set data_version = data_version + 1 where id = :id returning data_version", nativeQuery = true)
+    long incrementDataVersion(@Param("id") Long id);
+
+    /**
+     * Share-locks the next {@code limit} users by id after {@code afterId} and returns their ids.
+     * Expense writers take the conflicting row lock in {@link #incrementDataVersion} before they
+     * touch expenses or the rollup, so the users' expenses cannot change until the caller's
+     * transaction ends.
+     */
+    @Query(value = "select id from users where id > :afterId order by id limit :limit for share", nativeQuery = true)
+    List<Long> lockUsersAfter(@Param("afterId") long afterId, @Param("limit") int limit);
 }
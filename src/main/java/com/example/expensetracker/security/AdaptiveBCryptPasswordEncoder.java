@@ -0,0 +1,58 @@
+package com.example.expensetracker.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose {@link #upgradeEncoding} asks for a rehash whenever a stored hash was made
+ * with a different cost than the configured one, in either direction. The stock encoder only
+ * upgrades weaker hashes, which would make lowering the cost a one-way door.
+ * <p>
+ * Hashing and checking are timed as {@code password.hashing}, tagged by operation, since they
+ * dominate the latency of login and sign-up.
+ */
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public AdaptiveBCryptPasswordEncoder(int strength, MeterRegistry meterRegistry) {
+        super(strength);
+        this.strength = strength;
+        this.encodeTimer = hashingTimer(meterRegistry, "encode");
+        this.matchesTimer = hashingTimer(meterRegistry, "matches");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> super.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matchesTimer.record(() -> super.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private static Timer hashingTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing")
+                .description("Time spent computing BCrypt hashes")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.expensetracker.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,46 +10,70 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final Timer authenticatedTimer;
+    private final Timer anonymousTimer;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService,
+                                   MeterRegistry meterRegistry) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
+        // Includes verified-token cache hits, unlike jwt.verification which only times signature checks.
+        this.authenticatedTimer = authenticationTimer(meterRegistry, "authenticated");
+        this.anonymousTimer = authenticationTimer(meterRegistry, "anonymous");
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean authenticated = false;
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromJWT(jwt);
-                Objects.requireNonNull(username, "Username cannot be null");
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? tokenProvider.verifyToken(jwt) : Optional.empty();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (claims.isPresent()) {
+                // Access tokens are short-lived and carry the user id, so the verified claims are
+                // trusted as-is; only tokens minted before the claim existed need a lookup.
+                UserDetails userDetails = tokenProvider.getPrincipal(claims.get());
+                if (userDetails == null) {
+                    String username = claims.get().getSubject();
+                    Objects.requireNonNull(username, "Username cannot be null");
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                }
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                authenticated = true;
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
+        (authenticated ? authenticatedTimer : anonymousTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
 
+    private static Timer authenticationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.authentication")
+                .description("Time spent authenticating a request from its bearer token")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -1,60 +1,178 @@
 package com.example.expensetracker.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+
     private final Key key;
     private final int jwtExpirationInMs;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens;
+    private final Timer verificationTimer;
 
-    public JwtTokenProvider(@Value("${app.jwtSecret}") String jwtSecret, @Value("${app.jwtExpirationInMs}") int jwtExpirationInMs) {
+    public JwtTokenProvider(@Value("${app.jwtSecret}") String jwtSecret,
+                            @Value("${app.jwtExpirationInMs}") int jwtExpirationInMs,
+                            @Value("${app.jwtCacheEnabled:true}") boolean cacheEnabled,
+                            @Value("${app.jwtCacheMaxSize:10000}") long cacheMaxSize,
+                            MeterRegistry meterRegistry) {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
         this.jwtExpirationInMs = jwtExpirationInMs;
+        // JwtParser is immutable and thread-safe once built, so one instance serves every request.
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verificationTimer = Timer.builder("jwt.verification")
+                .description("Time spent parsing and verifying JWT signatures")
+                .register(meterRegistry);
+
+        if (cacheEnabled) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfter(new TokenExpiry())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtVerifiedTokens");
+        } else {
+            this.verifiedTokens = null;
+        }
     }
 
     public String generateToken(Authentication authentication) {
-        User userPrincipal = (User) authentication.getPrincipal();
+        return generateToken((UserPrincipal) authentication.getPrincipal());
+    }
 
+    /**
+     * Issues a short-lived access token carrying everything the request filter needs, so
+     * requests are authenticated without touching the database.
+     */
+    public String generateToken(UserPrincipal userPrincipal) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
         return Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
-                .setIssuedAt(new Date())
+                .claim(USER_ID_CLAIM, userPrincipal.getId())
+                .claim(TOKEN_VERSION_CLAIM, userPrincipal.getTokenVersion())
+                .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token's signature and expiry once and returns its claims, or an empty
+     * {@link Optional} if the token is invalid. Tokens that already passed verification are
+     * served from a bounded cache keyed by the token's SHA-256 hash until they expire.
+     */
+    public Optional<Claims> verifyToken(String token) {
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+
+        String cacheKey = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Claims> claims = parse(token);
+        claims.ifPresent(c -> verifiedTokens.put(cacheKey, c));
+        return claims;
+    }
+
+    /**
+     * Returns the user id carried by the claims, or {@code null} for tokens issued before the
+     * claim was introduced.
+     */
+    public Long getUserId(Claims claims) {
+        return claims.get(USER_ID_CLAIM, Long.class);
+    }
+
+    /**
+     * Builds the principal straight from verified claims. Returns {@code null} for tokens issued
+     * before the user id claim was introduced.
+     */
+    public UserPrincipal getPrincipal(Claims claims) {
+        Long userId = getUserId(claims);
+        if (userId == null) {
+            return null;
+        }
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return new UserPrincipal(userId, claims.getSubject(), null, tokenVersion != null ? tokenVersion : 0);
+    }
+
+    public int getExpirationInMs() {
+        return jwtExpirationInMs;
+    }
 
-        return claims.getSubject();
+    private Optional<Claims> parse(String token) {
+        long start = System.nanoTime();
+        try {
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        } finally {
+            verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
-    public boolean validateToken(String authToken) {
+    private static String hash(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            return true;
-        } catch (Exception ex) {
-            // log exception
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Evicts a cached token at the moment the token itself expires.
+     */
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
 }
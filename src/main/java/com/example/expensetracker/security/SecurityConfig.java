@@ -1,44 +1,61 @@
 package com.example.expensetracker.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.function.Supplier;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final IpAddressMatcher IPV4_LOOPBACK = new IpAddressMatcher("127.0.0.0/8");
+    private static final IpAddressMatcher IPV6_LOOPBACK = new IpAddressMatcher("::1");
+
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtTokenProvider tokenProvider;
     private final HandlerMappingIntrospector introspector;
+    private final MeterRegistry meterRegistry;
 
-    public SecurityConfig(CustomUserDetailsService customUserDetailsService, JwtTokenProvider tokenProvider, HandlerMappingIntrospector introspector) {
+    public SecurityConfig(CustomUserDetailsService customUserDetailsService, JwtTokenProvider tokenProvider,
+                          HandlerMappingIntrospector introspector, MeterRegistry meterRegistry) {
         this.customUserDetailsService = customUserDetailsService;
         this.tokenProvider = tokenProvider;
         this.introspector = introspector;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(tokenProvider, customUserDetailsService);
+        return new JwtAuthenticationFilter(tokenProvider, customUserDetailsService, meterRegistry);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.bcryptStrength:10}") int bcryptStrength) {
+        return new AdaptiveBCryptPasswordEncoder(bcryptStrength, meterRegistry);
     }
 
     @Bean
@@ -55,6 +72,12 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async (streamed export) and error dispatches belong to a request that was already authorized.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        // Metrics are scraped by a collector on the same host, which has no token.
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).access(SecurityConfig::fromLoopback)
+                        .requestMatchers(new MvcRequestMatcher(introspector, "/api/auth/logout-all")).authenticated()
                         .requestMatchers(new MvcRequestMatcher(introspector, "/api/auth/**")).permitAll()
                         .anyRequest().authenticated()
                 );
@@ -64,4 +87,9 @@ public class SecurityConfig {
 
         return http.build();
     }
-}
\ No newline at end of file
+
+    private static AuthorizationDecision fromLoopback(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        HttpServletRequest request = context.getRequest();
+        return new AuthorizationDecision(IPV4_LOOPBACK.matches(request) || IPV6_LOOPBACK.matches(request));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.expensetracker.security;
+
+import com.example.expensetracker.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Authenticated principal carrying the user's database id, so controllers and services can
+ * scope queries by id without looking the user up again.
+ */
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final int tokenVersion;
+
+    public UserPrincipal(Long id, String email, String password, int tokenVersion) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public static UserPrincipal create(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getTokenVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
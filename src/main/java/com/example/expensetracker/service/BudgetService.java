@@ -0,0 +1,15 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.payload.BudgetRequest;
+import com.example.expensetracker.payload.BudgetResponseDto;
+import com.example.expensetracker.payload.BudgetStatusResponse;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface BudgetService {
+    List<BudgetResponseDto> getBudgetsForUser(Long userId);
+    BudgetResponseDto setBudget(Long categoryId, BudgetRequest request, Long userId);
+    void deleteBudget(Long categoryId, Long userId);
+    BudgetStatusResponse getBudgetStatus(Long userId, YearMonth month);
+}
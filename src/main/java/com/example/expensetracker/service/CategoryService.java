@@ -1,14 +1,14 @@
 package com.example.expensetracker.service;
 
 import com.example.expensetracker.model.Category;
-import com.example.expensetracker.model.User;
 import com.example.expensetracker.payload.CategoryRequest;
+import com.example.expensetracker.payload.CategoryResponseDto;
 
 import java.util.List;
 
 public interface CategoryService {
-    List<Category> getCategoriesForUser(User user);
-    void createCategory(CategoryRequest request, User user);
-    Category updateCategory(Long id, CategoryRequest request, User user);
-    void deleteCategory(Long id, User user);
+    List<CategoryResponseDto> getCategoriesForUser(Long userId);
+    void createCategory(CategoryRequest request, Long userId);
+    Category updateCategory(Long id, CategoryRequest request, Long userId);
+    void deleteCategory(Long id, Long userId);
 }
@@ -0,0 +1,10 @@
+package com.example.expensetracker.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface CurrencyService {
+    String getBaseCurrency(Long userId);
+    boolean isSupported(String currency);
+    BigDecimal toBaseAmount(BigDecimal amount, String currency, String baseCurrency, LocalDate date);
+}
@@ -0,0 +1,6 @@
+package com.example.expensetracker.service;
+
+public interface DataVersionService {
+    long getDataVersion(Long userId);
+    long incrementDataVersion(Long userId);
+}
@@ -1,15 +1,24 @@
 package com.example.expensetracker.service;
 
-import com.example.expensetracker.model.Expense;
-import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.BatchRowResult;
+import com.example.expensetracker.payload.ExpenseCursor;
+import com.example.expensetracker.payload.ExpenseFilter;
+import com.example.expensetracker.payload.ExportFormat;
 import com.example.expensetracker.payload.ExpenseRequest;
+import com.example.expensetracker.payload.ExpenseResponseDto;
+import com.example.expensetracker.payload.ExpenseSearchResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ExpenseService {
-    List<Expense> getExpensesForUser(User user);
-    Expense getExpenseById(Long id, User user);
-    void createExpense(ExpenseRequest request, User user);
-    Expense updateExpense(Long id, ExpenseRequest request, User user);
-    void deleteExpense(Long id, User user);
+    List<ExpenseResponseDto> getExpensesForUser(Long userId, ExpenseFilter filter, ExpenseCursor cursor, int limit);
+    ExpenseResponseDto getExpenseById(Long id, Long userId);
+    ExpenseSearchResponse searchExpenses(Long userId, String query, int page, int size);
+    ExpenseResponseDto createExpense(ExpenseRequest request, Long userId);
+    List<BatchRowResult> createExpenses(List<ExpenseRequest> requests, Long userId);
+    ExpenseResponseDto updateExpense(Long id, ExpenseRequest request, Long userId);
+    void deleteExpense(Long id, Long userId);
+    void exportExpenses(Long userId, ExportFormat format, OutputStream out) throws IOException;
 }
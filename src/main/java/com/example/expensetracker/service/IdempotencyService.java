@@ -0,0 +1,11 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.payload.IdempotentResponse;
+
+import java.util.Optional;
+
+public interface IdempotencyService {
+    Optional<IdempotentResponse> begin(Long userId, String idempotencyKey, String requestHash);
+    void complete(Long userId, String idempotencyKey, IdempotentResponse response);
+    void release(Long userId, String idempotencyKey, String requestHash);
+}
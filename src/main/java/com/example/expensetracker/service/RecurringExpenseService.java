@@ -0,0 +1,14 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.payload.RecurringExpenseRequest;
+import com.example.expensetracker.payload.RecurringExpenseResponseDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RecurringExpenseService {
+    List<RecurringExpenseResponseDto> getRecurringExpensesForUser(Long userId);
+    RecurringExpenseResponseDto createRecurringExpense(RecurringExpenseRequest request, Long userId);
+    void deleteRecurringExpense(Long id, Long userId);
+    int postDueOccurrences(LocalDate today);
+}
@@ -0,0 +1,11 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.payload.AuthResponse;
+import com.example.expensetracker.security.UserPrincipal;
+
+public interface RefreshTokenService {
+    AuthResponse issueTokens(UserPrincipal user);
+    AuthResponse refresh(String refreshToken);
+    void revoke(String refreshToken);
+    void revokeAll(Long userId);
+}
@@ -0,0 +1,13 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.payload.CategorySummaryDto;
+import com.example.expensetracker.payload.PeriodSummaryDto;
+import com.example.expensetracker.payload.SummaryGranularity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SummaryService {
+    List<CategorySummaryDto> summarizeByCategory(Long userId, LocalDate from, LocalDate to);
+    List<PeriodSummaryDto> summarizeByPeriod(Long userId, LocalDate from, LocalDate to, SummaryGranularity granularity);
+}
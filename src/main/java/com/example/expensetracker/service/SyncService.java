@@ -0,0 +1,7 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.payload.SyncResponse;
+
+public interface SyncService {
+    SyncResponse getChangesSince(Long userId, Long since);
+}
@@ -0,0 +1,30 @@
+package com.example.expensetracker.service.impl;
+
+import com.example.expensetracker.payload.BudgetResponseDto;
+import com.example.expensetracker.repository.BudgetRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Holds the cached budget list outside {@link BudgetServiceImpl}, so the service's own methods
+ * read it through the cache proxy rather than by a self-call that would skip it. Entries are
+ * evicted by the service's budget writes.
+ */
+@Component
+public class BudgetLookup {
+
+    private final BudgetRepository budgetRepository;
+
+    public BudgetLookup(BudgetRepository budgetRepository) {
+        this.budgetRepository = budgetRepository;
+    }
+
+    @Cacheable(cacheNames = BudgetServiceImpl.USER_BUDGETS_CACHE, key = "#userId")
+    public List<BudgetResponseDto> cachedBudgets(Long userId) {
+        return budgetRepository.findByUserIdOrderByCategoryId(userId).stream()
+                .map(BudgetServiceImpl::toDto)
+                .toList();
+    }
+}
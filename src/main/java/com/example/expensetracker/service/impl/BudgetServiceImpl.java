@@ -0,0 +1,116 @@
+package com.example.expensetracker.service.impl;
+
+import com.example.expensetracker.exception.ResourceNotFoundException;
+import com.example.expensetracker.model.Budget;
+import com.example.expensetracker.model.BudgetLevel;
+import com.example.expensetracker.model.ExpenseMonthlyRollup;
+import com.example.expensetracker.payload.BudgetAlertDto;
+import com.example.expensetracker.payload.BudgetRequest;
+import com.example.expensetracker.payload.BudgetResponseDto;
+import com.example.expensetracker.payload.BudgetStatusDto;
+import com.example.expensetracker.payload.BudgetStatusResponse;
+import com.example.expensetracker.repository.BudgetAlertRepository;
+import com.example.expensetracker.repository.BudgetRepository;
+import com.example.expensetracker.repository.ExpenseMonthlyRollupRepository;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.service.BudgetService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Budgets are read from the {@value #USER_BUDGETS_CACHE} cache, one entry per user, through
+ * {@link BudgetLookup}, so the check on every expense write costs no query. Spend comes from the
+ * monthly rollup counters.
+ */
+@Service
+@Timed("service.calls")
+public class BudgetServiceImpl implements BudgetService {
+
+    public static final String USER_BUDGETS_CACHE = "userBudgets";
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetAlertRepository alertRepository;
+    private final ExpenseMonthlyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final OwnedCategoryResolver ownedCategoryResolver;
+    private final BudgetLookup budgetLookup;
+
+    public BudgetServiceImpl(BudgetRepository budgetRepository, BudgetAlertRepository alertRepository,
+                             ExpenseMonthlyRollupRepository rollupRepository, UserRepository userRepository,
+                             OwnedCategoryResolver ownedCategoryResolver, BudgetLookup budgetLookup) {
+        this.budgetRepository = budgetRepository;
+        this.alertRepository = alertRepository;
+        this.rollupRepository = rollupRepository;
+        this.userRepository = userRepository;
+        this.ownedCategoryResolver = ownedCategoryResolver;
+        this.budgetLookup = budgetLookup;
+    }
+
+    @Override
+    public List<BudgetResponseDto> getBudgetsForUser(Long userId) {
+        return budgetLookup.cachedBudgets(userId);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = USER_BUDGETS_CACHE, key = "#userId")
+    @Transactional
+    public BudgetResponseDto setBudget(Long categoryId, BudgetRequest request, Long userId) {
+        Budget budget = budgetRepository.findByUserIdAndCategoryId(userId, categoryId).orElseGet(() -> {
+            Budget newBudget = new Budget();
+            newBudget.setUser(userRepository.getReferenceById(userId));
+            newBudget.setCategory(ownedCategoryResolver.resolveOwnedCategory(categoryId, userId,
+                    ownedCategoryResolver.cachedCategoryNames(userId)));
+            return newBudget;
+        });
+        budget.setAmount(request.getAmount());
+        budget.setAlertThresholdPercent(request.getAlertThresholdPercent());
+        return toDto(ownedCategoryResolver.attachingCategory(categoryId, userId, () -> budgetRepository.saveAndFlush(budget)));
+    }
+
+    @Override
+    @CacheEvict(cacheNames = USER_BUDGETS_CACHE, key = "#userId")
+    @Transactional
+    public void deleteBudget(Long categoryId, Long userId) {
+        Budget budget = budgetRepository.findByUserIdAndCategoryId(userId, categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget not found for category id: " + categoryId));
+        budgetRepository.delete(budget);
+    }
+
+    /**
+     * Pairs each budget with its category's rollup row for {@code month}, so the status costs the
+     * same few indexed reads however many expenses the month holds.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BudgetStatusResponse getBudgetStatus(Long userId, YearMonth month) {
+        Map<Long, BigDecimal> spentByCategory = rollupRepository.findByUserIdAndMonth(userId, month.atDay(1)).stream()
+                .collect(Collectors.toMap(ExpenseMonthlyRollup::getCategoryId, ExpenseMonthlyRollup::getTotal));
+        Map<Long, String> categoryNames = ownedCategoryResolver.cachedCategoryNames(userId);
+
+        List<BudgetStatusDto> budgets = budgetLookup.cachedBudgets(userId).stream()
+                .map(budget -> {
+                    BigDecimal spent = spentByCategory.getOrDefault(budget.getCategoryId(), BigDecimal.ZERO);
+                    return new BudgetStatusDto(budget.getCategoryId(), categoryNames.get(budget.getCategoryId()),
+                            budget.getAmount(), spent, budget.getAlertThresholdPercent(),
+                            BudgetLevel.of(spent, budget.getAmount(), budget.getAlertThresholdPercent()));
+                })
+                .toList();
+        List<BudgetAlertDto> alerts = alertRepository.findByUserIdAndMonthOrderByCreatedAt(userId, month.atDay(1)).stream()
+                .map(alert -> new BudgetAlertDto(alert.getCategoryId(), alert.getLevel(), alert.getSpent(),
+                        alert.getBudgetAmount(), alert.getCreatedAt()))
+                .toList();
+        return new BudgetStatusResponse(month, budgets, alerts);
+    }
+
+    static BudgetResponseDto toDto(Budget budget) {
+        return new BudgetResponseDto(budget.getCategory().getId(), budget.getAmount(), budget.getAlertThresholdPercent());
+    }
+}
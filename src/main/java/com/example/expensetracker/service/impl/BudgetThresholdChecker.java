@@ -0,0 +1,49 @@
+package com.example.expensetracker.service.impl;
+
+import com.example.expensetracker.model.BudgetLevel;
+import com.example.expensetracker.payload.BudgetResponseDto;
+import com.example.expensetracker.repository.BudgetAlertRepository;
+import com.example.expensetracker.service.BudgetService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Checks an expense write against the category's budget using the month's total returned by the
+ * rollup upsert, so no spend is ever summed on the write path. The budget itself comes from the
+ * cached list; an alert insert is only issued when the write moves the spend up a level.
+ */
+@Component
+public class BudgetThresholdChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetThresholdChecker.class);
+
+    private final BudgetService budgetService;
+    private final BudgetAlertRepository alertRepository;
+
+    public BudgetThresholdChecker(BudgetService budgetService, BudgetAlertRepository alertRepository) {
+        this.budgetService = budgetService;
+        this.alertRepository = alertRepository;
+    }
+
+    public void checkSpend(Long userId, Long categoryId, LocalDate month, BigDecimal previousTotal, BigDecimal newTotal) {
+        for (BudgetResponseDto budget : budgetService.getBudgetsForUser(userId)) {
+            if (!budget.getCategoryId().equals(categoryId)) {
+                continue;
+            }
+            BudgetLevel previousLevel = BudgetLevel.of(previousTotal, budget.getAmount(), budget.getAlertThresholdPercent());
+            BudgetLevel newLevel = BudgetLevel.of(newTotal, budget.getAmount(), budget.getAlertThresholdPercent());
+            if (newLevel.compareTo(previousLevel) > 0
+                    && alertRepository.insertIfAbsent(userId, categoryId, month, newLevel.name(), newTotal,
+                    budget.getAmount(), Instant.now()) > 0) {
+                logger.info("Budget {} for user {} category {} in {}: spent {} of {}",
+                        newLevel, userId, categoryId, month, newTotal, budget.getAmount());
+            }
+            return;
+        }
+    }
+}
@@ -1,67 +1,118 @@
 package com.example.expensetracker.service.impl;
 
-import com.example.expensetracker.exception.BadRequestException;
+import com.example.expensetracker.exception.ConflictException;
 import com.example.expensetracker.exception.ForbiddenException;
 import com.example.expensetracker.exception.ResourceNotFoundException;
 import com.example.expensetracker.model.Category;
-import com.example.expensetracker.model.User;
+import com.example.expensetracker.model.SyncEntityType;
+import com.example.expensetracker.model.SyncTombstone;
 import com.example.expensetracker.payload.CategoryRequest;
+import com.example.expensetracker.payload.CategoryResponseDto;
 import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.SyncTombstoneRepository;
+import com.example.expensetracker.repository.UserRepository;
 import com.example.expensetracker.service.CategoryService;
+import com.example.expensetracker.service.DataVersionService;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+/**
+ * Category reads are served from the {@value #USER_CATEGORIES_CACHE} cache, one entry per user,
+ * and every write evicts the writer's entry. The cache is node-local, so other nodes may see
+ * a change only after the entry expires (see {@code spring.cache.caffeine.spec}).
+ */
 @Service
+@Timed("service.calls")
 public class CategoryServiceImpl implements CategoryService {
 
+    public static final String USER_CATEGORIES_CACHE = "userCategories";
+
     private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
+    private final SyncTombstoneRepository tombstoneRepository;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, UserRepository userRepository,
+                               DataVersionService dataVersionService, SyncTombstoneRepository tombstoneRepository) {
         this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.dataVersionService = dataVersionService;
+        this.tombstoneRepository = tombstoneRepository;
     }
 
     @Override
-    public List<Category> getCategoriesForUser(User user) {
-        return categoryRepository.findByUserId(user.getId());
+    @Cacheable(cacheNames = USER_CATEGORIES_CACHE, key = "#userId")
+    public List<CategoryResponseDto> getCategoriesForUser(Long userId) {
+        return categoryRepository.findByUserId(userId).stream()
+                .map(category -> new CategoryResponseDto(category.getId(), category.getName()))
+                .toList();
     }
 
     @Override
-    public void createCategory(CategoryRequest request, User user) {
-        if (categoryRepository.findByNameAndUser(request.getName(), user).isPresent()) {
-            throw new BadRequestException("A category with this name already exists.");
-        }
+    @CacheEvict(cacheNames = USER_CATEGORIES_CACHE, key = "#userId")
+    @Transactional
+    public void createCategory(CategoryRequest request, Long userId) {
         Category newCategory = new Category();
         newCategory.setName(request.getName());
-        newCategory.setUser(user);
-        categoryRepository.save(newCategory);
+        newCategory.setUser(userRepository.getReferenceById(userId));
+        newCategory.setDataVersion(dataVersionService.incrementDataVersion(userId));
+        saveUniquelyNamed(newCategory);
     }
 
     @Override
-    public Category updateCategory(Long id, CategoryRequest request, User user) {
+    @CacheEvict(cacheNames = USER_CATEGORIES_CACHE, key = "#userId")
+    @Transactional
+    public Category updateCategory(Long id, CategoryRequest request, Long userId) {
         Category existingCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
 
-        if (!existingCategory.getUser().getId().equals(user.getId())) {
+        if (!existingCategory.getUser().getId().equals(userId)) {
             throw new ForbiddenException("User is not authorized to update this category");
         }
 
-        if (categoryRepository.findByNameAndUser(request.getName(), user).isPresent() && !existingCategory.getName().equals(request.getName())) {
-            throw new BadRequestException("A category with this name already exists.");
-        }
-
+        // Taken before renaming: the native update would otherwise auto-flush the rename first.
+        long dataVersion = dataVersionService.incrementDataVersion(userId);
         existingCategory.setName(request.getName());
-        return categoryRepository.save(existingCategory);
+        existingCategory.setDataVersion(dataVersion);
+        return saveUniquelyNamed(existingCategory);
     }
 
     @Override
-    public void deleteCategory(Long id, User user) {
+    @CacheEvict(cacheNames = USER_CATEGORIES_CACHE, key = "#userId")
+    @Transactional
+    public void deleteCategory(Long id, Long userId) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
 
-        if (!category.getUser().getId().equals(user.getId())) {
+        if (!category.getUser().getId().equals(userId)) {
             throw new ForbiddenException("User is not authorized to delete this category");
         }
+        long dataVersion = dataVersionService.incrementDataVersion(userId);
         categoryRepository.delete(category);
+        tombstoneRepository.save(new SyncTombstone(userId, SyncEntityType.CATEGORY, id, dataVersion));
+    }
+
+    /**
+     * Writes the category immediately so a name clash surfaces here, from the
+     * {@value Category#UNIQUE_NAME_CONSTRAINT} constraint, rather than at commit. Relying on the
+     * constraint instead of a lookup costs no extra query and cannot be raced by a concurrent write.
+     */
+    private Category saveUniquelyNamed(Category category) {
+        try {
+            return categoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException ex) {
+            if (ex.getCause() instanceof ConstraintViolationException violation
+                    && Category.UNIQUE_NAME_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                throw new ConflictException("A category with this name already exists.");
+            }
+            throw ex;
+        }
     }
 }
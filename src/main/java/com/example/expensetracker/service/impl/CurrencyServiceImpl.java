@@ -0,0 +1,53 @@
+package com.example.expensetracker.service.impl;
+
+import com.example.expensetracker.exception.BadRequestException;
+import com.example.expensetracker.exception.ResourceNotFoundException;
+import com.example.expensetracker.fx.FxRateNotFoundException;
+import com.example.expensetracker.fx.FxRateTable;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.service.CurrencyService;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Normalizes expense amounts to their owner's base currency. The base currency never changes
+ * after sign-up, so it is cached per user without eviction and the write path pays neither a
+ * query for it nor a database lookup for the rate.
+ */
+@Service
+public class CurrencyServiceImpl implements CurrencyService {
+
+    public static final String USER_BASE_CURRENCY_CACHE = "userBaseCurrency";
+
+    private final UserRepository userRepository;
+    private final FxRateTable fxRateTable;
+
+    public CurrencyServiceImpl(UserRepository userRepository, FxRateTable fxRateTable) {
+        this.userRepository = userRepository;
+        this.fxRateTable = fxRateTable;
+    }
+
+    @Override
+    @Cacheable(cacheNames = USER_BASE_CURRENCY_CACHE, key = "#userId")
+    public String getBaseCurrency(Long userId) {
+        return userRepository.findBaseCurrencyById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    }
+
+    @Override
+    public boolean isSupported(String currency) {
+        return fxRateTable.supports(currency);
+    }
+
+    @Override
+    public BigDecimal toBaseAmount(BigDecimal amount, String currency, String baseCurrency, LocalDate date) {
+        try {
+            return fxRateTable.convert(amount, currency, baseCurrency, date);
+        } catch (FxRateNotFoundException ex) {
+            throw new BadRequestException(ex.getMessage());
+        }
+    }
+}
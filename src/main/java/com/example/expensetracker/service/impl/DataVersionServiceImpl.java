@@ -0,0 +1,39 @@
+package com.example.expensetracker.service.impl;
+
+import com.example.expensetracker.exception.ResourceNotFoundException;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.service.DataVersionService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tracks a per-user counter that moves forward with every change to the user's expenses or
+ * categories. Readers compare it with the value they saw last to learn, with one primary-key
+ * read, whether anything changed.
+ */
+@Service
+public class DataVersionServiceImpl implements DataVersionService {
+
+    private final UserRepository userRepository;
+
+    public DataVersionServiceImpl(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public long getDataVersion(Long userId) {
+        return userRepository.findDataVersionById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    }
+
+    /**
+     * Must run inside the transaction making the change, so the new version becomes visible
+     * together with the data it describes.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long incrementDataVersion(Long userId) {
+        return userRepository.incrementDataVersion(userId);
+    }
+}
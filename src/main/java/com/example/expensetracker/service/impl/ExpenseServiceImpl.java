@@ -1,87 +1,395 @@
 package com.example.expensetracker.service.impl;
 
+import com.example.expensetracker.csv.CsvWriter;
 import com.example.expensetracker.exception.BadRequestException;
 import com.example.expensetracker.exception.ForbiddenException;
 import com.example.expensetracker.exception.ResourceNotFoundException;
 import com.example.expensetracker.model.Category;
 import com.example.expensetracker.model.Expense;
-import com.example.expensetracker.model.User;
+import com.example.expensetracker.model.ExpenseMonthlyRollupId;
+import com.example.expensetracker.model.SyncEntityType;
+import com.example.expensetracker.model.SyncTombstone;
+import com.example.expensetracker.payload.BatchRowResult;
+import com.example.expensetracker.payload.ExpenseCursor;
+import com.example.expensetracker.payload.ExpenseFilter;
+import com.example.expensetracker.payload.ExportFormat;
 import com.example.expensetracker.payload.ExpenseRequest;
+import com.example.expensetracker.payload.ExpenseResponseDto;
+import com.example.expensetracker.payload.ExpenseSearchResponse;
 import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.ExpenseJdbcRepository;
+import com.example.expensetracker.repository.ExpenseMonthlyRollupRepository;
 import com.example.expensetracker.repository.ExpenseRepository;
+import com.example.expensetracker.repository.ExpenseSearchHit;
+import com.example.expensetracker.repository.SyncTombstoneRepository;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.service.CurrencyService;
+import com.example.expensetracker.service.DataVersionService;
 import com.example.expensetracker.service.ExpenseService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("service.calls")
 public class ExpenseServiceImpl implements ExpenseService {
 
+    /**
+     * Anything but letters and digits separates words, which also keeps tsquery operators out of
+     * the generated query.
+     */
+    private static final Pattern SEARCH_WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     private final ExpenseRepository expenseRepository;
     private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final OwnedCategoryResolver ownedCategoryResolver;
+    private final DataVersionService dataVersionService;
+    private final CurrencyService currencyService;
+    private final ExpenseMonthlyRollupRepository rollupRepository;
+    private final BudgetThresholdChecker budgetThresholdChecker;
+    private final ExpenseJdbcRepository expenseJdbcRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
 
-    public ExpenseServiceImpl(ExpenseRepository expenseRepository, CategoryRepository categoryRepository) {
+    public ExpenseServiceImpl(ExpenseRepository expenseRepository, CategoryRepository categoryRepository, UserRepository userRepository,
+                              OwnedCategoryResolver ownedCategoryResolver, DataVersionService dataVersionService,
+                              CurrencyService currencyService,
+                              ExpenseMonthlyRollupRepository rollupRepository, BudgetThresholdChecker budgetThresholdChecker,
+                              ExpenseJdbcRepository expenseJdbcRepository,
+                              SyncTombstoneRepository tombstoneRepository, Validator validator, ObjectMapper objectMapper) {
         this.expenseRepository = expenseRepository;
         this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.ownedCategoryResolver = ownedCategoryResolver;
+        this.dataVersionService = dataVersionService;
+        this.currencyService = currencyService;
+        this.rollupRepository = rollupRepository;
+        this.budgetThresholdChecker = budgetThresholdChecker;
+        this.expenseJdbcRepository = expenseJdbcRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
     }
 
     @Override
-    public List<Expense> getExpensesForUser(User user) {
-        return expenseRepository.findByUserId(user.getId());
+    public List<ExpenseResponseDto> getExpensesForUser(Long userId, ExpenseFilter filter, ExpenseCursor cursor, int limit) {
+        return expenseRepository.findPage(userId, filter, cursor, limit);
     }
 
     @Override
-    public Expense getExpenseById(Long id, User user) {
-        Expense expense = expenseRepository.findById(id)
+    public ExpenseResponseDto getExpenseById(Long id, Long userId) {
+        Expense expense = expenseRepository.findWithCategoryById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + id));
-
-        if (!expense.getUser().getId().equals(user.getId())) {
-            throw new ForbiddenException("User is not authorized to access this expense");
-        }
-        return expense;
+        checkOwnership(expense, userId);
+        return toDto(expense, expense.getCategory().getName());
     }
 
+    /**
+     * Searches descriptions word by word, each word also matching as a prefix. When nothing
+     * matches that way the query falls back to trigram similarity, which finds fragments inside
+     * words and tolerates typos. Both paths are index scans limited to the user's own rows.
+     */
     @Override
-    public void createExpense(ExpenseRequest request, User user) {
-        Category category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new BadRequestException("Category not found with id: " + request.getCategoryId()));
+    public ExpenseSearchResponse searchExpenses(Long userId, String query, int page, int size) {
+        List<String> words = SEARCH_WORD_SEPARATOR.splitAsStream(query.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .toList();
+        if (words.isEmpty()) {
+            throw new BadRequestException("Search query must contain at least one letter or digit");
+        }
+        String tsquery = words.stream().map(word -> word + ":*").collect(Collectors.joining(" & "));
 
-        if (!category.getUser().getId().equals(user.getId())) {
-            throw new BadRequestException("Category does not belong to the current user.");
+        long offset = (long) page * size;
+        boolean fuzzy = !expenseRepository.existsFullTextMatch(userId, tsquery);
+        // Fetch one extra row to learn whether another page exists without a count query.
+        List<ExpenseSearchHit> hits = fuzzy
+                ? expenseRepository.searchTrigram(userId, String.join(" ", words), size + 1, offset)
+                : expenseRepository.searchFullText(userId, tsquery, size + 1, offset);
+
+        Integer nextPage = null;
+        if (hits.size() > size) {
+            hits = hits.subList(0, size);
+            nextPage = page + 1;
         }
+        List<ExpenseResponseDto> items = hits.stream()
+                .map(hit -> new ExpenseResponseDto(hit.getId(), hit.getAmount(), hit.getCurrency(), hit.getBaseAmount(),
+                        hit.getDate(), hit.getDescription(), hit.getCategoryName()))
+                .toList();
+        return new ExpenseSearchResponse(items, nextPage, fuzzy);
+    }
+
+    @Override
+    @Transactional
+    public ExpenseResponseDto createExpense(ExpenseRequest request, Long userId) {
+        Map<Long, String> ownedCategoryNames = ownedCategoryResolver.cachedCategoryNames(userId);
+        Category category = ownedCategoryResolver.resolveOwnedCategory(request.getCategoryId(), userId, ownedCategoryNames);
+        String baseCurrency = currencyService.getBaseCurrency(userId);
+        String currency = currencyOf(request, baseCurrency);
 
         Expense newExpense = new Expense();
         newExpense.setAmount(request.getAmount());
+        newExpense.setCurrency(currency);
+        newExpense.setBaseAmount(currencyService.toBaseAmount(request.getAmount(), currency, baseCurrency, request.getDate()));
         newExpense.setDate(request.getDate());
         newExpense.setDescription(request.getDescription());
-        newExpense.setUser(user);
+        newExpense.setUser(userRepository.getReferenceById(userId));
         newExpense.setCategory(category);
 
-        expenseRepository.save(newExpense);
+        newExpense.setDataVersion(dataVersionService.incrementDataVersion(userId));
+        Expense savedExpense = ownedCategoryResolver.attachingCategory(category.getId(), userId,
+                () -> expenseRepository.saveAndFlush(newExpense));
+        applyRollupDelta(userId, category.getId(), savedExpense.getDate(), savedExpense.getBaseAmount(), 1);
+        return toDto(savedExpense, ownedCategoryResolver.categoryName(category, ownedCategoryNames));
     }
 
+    /**
+     * Validates every row and converts its amount to the base currency, resolves the distinct
+     * categories in one query, then inserts the accepted rows with JDBC batching and folds them
+     * into the monthly rollup one bucket at a time. Rejected rows are reported alongside the
+     * created ones rather than failing the batch.
+     */
     @Override
-    public Expense updateExpense(Long id, ExpenseRequest request, User user) {
-        Expense existingExpense = getExpenseById(id, user); // This already performs the ownership check
+    @Transactional
+    public List<BatchRowResult> createExpenses(List<ExpenseRequest> requests, Long userId) {
+        Set<Long> categoryIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(ExpenseRequest::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        // Categories missing from the user's cached list are looked up once, together, to
+        // tell unknown ids from ones owned by someone else (or created after caching).
+        Map<Long, String> ownedCategoryNames = ownedCategoryResolver.cachedCategoryNames(userId);
+        Set<Long> uncachedIds = categoryIds.stream()
+                .filter(id -> !ownedCategoryNames.containsKey(id))
+                .collect(Collectors.toSet());
+        Map<Long, Category> uncachedCategories = uncachedIds.isEmpty() ? Map.of()
+                : categoryRepository.findAllById(uncachedIds).stream()
+                        .collect(Collectors.toMap(Category::getId, Function.identity()));
 
-        Category category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new BadRequestException("Category not found with id: " + request.getCategoryId()));
+        String baseCurrency = currencyService.getBaseCurrency(userId);
 
-        if (!category.getUser().getId().equals(user.getId())) {
-            throw new BadRequestException("Category does not belong to the current user.");
+        BatchRowResult[] results = new BatchRowResult[requests.size()];
+        List<ExpenseRequest> accepted = new ArrayList<>();
+        List<BigDecimal> acceptedBaseAmounts = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ExpenseRequest row = requests.get(i);
+            List<String> errors = validateBatchRow(row, ownedCategoryNames, uncachedCategories, userId);
+            if (errors.isEmpty()) {
+                try {
+                    acceptedBaseAmounts.add(currencyService.toBaseAmount(
+                            row.getAmount(), currencyOf(row, baseCurrency), baseCurrency, row.getDate()));
+                } catch (BadRequestException ex) {
+                    errors.add(ex.getMessage());
+                }
+            }
+            if (errors.isEmpty()) {
+                accepted.add(row);
+                acceptedIndexes.add(i);
+            } else {
+                results[i] = BatchRowResult.rejected(i, errors);
+            }
         }
 
+        if (!accepted.isEmpty()) {
+            long dataVersion = dataVersionService.incrementDataVersion(userId);
+            List<Long> ids = expenseJdbcRepository.allocateIds(accepted.size());
+            ownedCategoryResolver.attachingCategories(userId, "A category in this batch no longer exists.", () -> {
+                expenseJdbcRepository.insertAll(userId, ids, accepted, acceptedBaseAmounts, baseCurrency, dataVersion);
+                return null;
+            });
+
+            Map<ExpenseMonthlyRollupId, BigDecimal> totals = new HashMap<>();
+            Map<ExpenseMonthlyRollupId, Long> counts = new HashMap<>();
+            for (int i = 0; i < accepted.size(); i++) {
+                ExpenseRequest row = accepted.get(i);
+                ExpenseMonthlyRollupId bucket = new ExpenseMonthlyRollupId(userId, row.getCategoryId(), row.getDate().withDayOfMonth(1));
+                totals.merge(bucket, acceptedBaseAmounts.get(i), BigDecimal::add);
+                counts.merge(bucket, 1L, Long::sum);
+                results[acceptedIndexes.get(i)] = BatchRowResult.created(acceptedIndexes.get(i), ids.get(i));
+            }
+            totals.forEach((bucket, total) ->
+                    applyRollupDelta(userId, bucket.getCategoryId(), bucket.getMonth(), total, counts.get(bucket)));
+        }
+        return List.of(results);
+    }
+
+    private List<String> validateBatchRow(ExpenseRequest row, Map<Long, String> ownedCategoryNames,
+                                          Map<Long, Category> uncachedCategories, Long userId) {
+        if (row == null) {
+            return List.of("Row is empty");
+        }
+        List<String> errors = validator.validate(row).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (row.getCategoryId() != null && !ownedCategoryNames.containsKey(row.getCategoryId())) {
+            Category category = uncachedCategories.get(row.getCategoryId());
+            if (category == null) {
+                errors.add("Category not found with id: " + row.getCategoryId());
+            } else if (!category.getUser().getId().equals(userId)) {
+                errors.add("Category does not belong to the current user.");
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    @Transactional
+    public ExpenseResponseDto updateExpense(Long id, ExpenseRequest request, Long userId) {
+        Expense existingExpense = getOwnedExpense(id, userId);
+        Long oldCategoryId = existingExpense.getCategory().getId();
+        LocalDate oldMonth = existingExpense.getDate().withDayOfMonth(1);
+        BigDecimal oldBaseAmount = existingExpense.getBaseAmount();
+
+        Map<Long, String> ownedCategoryNames = ownedCategoryResolver.cachedCategoryNames(userId);
+        Category category = ownedCategoryResolver.resolveOwnedCategory(request.getCategoryId(), userId, ownedCategoryNames);
+        String baseCurrency = currencyService.getBaseCurrency(userId);
+        String currency = currencyOf(request, baseCurrency);
+
         existingExpense.setAmount(request.getAmount());
+        existingExpense.setCurrency(currency);
+        existingExpense.setBaseAmount(currencyService.toBaseAmount(request.getAmount(), currency, baseCurrency, request.getDate()));
         existingExpense.setDate(request.getDate());
         existingExpense.setDescription(request.getDescription());
         existingExpense.setCategory(category);
 
-        return expenseRepository.save(existingExpense);
+        existingExpense.setDataVersion(dataVersionService.incrementDataVersion(userId));
+        Expense savedExpense = ownedCategoryResolver.attachingCategory(category.getId(), userId,
+                () -> expenseRepository.saveAndFlush(existingExpense));
+        if (oldCategoryId.equals(category.getId()) && oldMonth.equals(savedExpense.getDate().withDayOfMonth(1))) {
+            applyRollupDelta(userId, oldCategoryId, oldMonth, savedExpense.getBaseAmount().subtract(oldBaseAmount), 0);
+        } else {
+            applyRollupDelta(userId, oldCategoryId, oldMonth, oldBaseAmount.negate(), -1);
+            applyRollupDelta(userId, category.getId(), savedExpense.getDate(), savedExpense.getBaseAmount(), 1);
+        }
+        return toDto(savedExpense, ownedCategoryResolver.categoryName(category, ownedCategoryNames));
     }
 
     @Override
-    public void deleteExpense(Long id, User user) {
-        Expense expense = getExpenseById(id, user); // This already performs the ownership check
+    @Transactional
+    public void deleteExpense(Long id, Long userId) {
+        Expense expense = getOwnedExpense(id, userId);
+        long dataVersion = dataVersionService.incrementDataVersion(userId);
         expenseRepository.delete(expense);
+        tombstoneRepository.save(new SyncTombstone(userId, SyncEntityType.EXPENSE, id, dataVersion));
+        applyRollupDelta(userId, expense.getCategory().getId(), expense.getDate(), expense.getBaseAmount().negate(), -1);
+    }
+
+    private Expense getOwnedExpense(Long id, Long userId) {
+        Expense expense = expenseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + id));
+        checkOwnership(expense, userId);
+        return expense;
+    }
+
+    private static String currencyOf(ExpenseRequest request, String baseCurrency) {
+        return request.getCurrency() != null ? request.getCurrency() : baseCurrency;
+    }
+
+    private void checkOwnership(Expense expense, Long userId) {
+        if (!expense.getUser().getId().equals(userId)) {
+            throw new ForbiddenException("User is not authorized to access this expense");
+        }
+    }
+
+    private ExpenseResponseDto toDto(Expense expense, String categoryName) {
+        return new ExpenseResponseDto(
+                expense.getId(),
+                expense.getAmount(),
+                expense.getCurrency(),
+                expense.getBaseAmount(),
+                expense.getDate(),
+                expense.getDescription(),
+                categoryName
+        );
+    }
+
+    /**
+     * Writes the user's full history to {@code out} while reading it from a forward-only cursor,
+     * so only one fetch-size chunk of rows is held in memory at a time.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportExpenses(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<ExpenseResponseDto> rows = expenseRepository.streamByUserId(userId)) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows, writer);
+            } else {
+                writeNdjson(rows, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Stream<ExpenseResponseDto> rows, Writer writer) throws IOException {
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeRecord("id", "amount", "date", "description", "categoryName", "currency", "baseAmount");
+        for (ExpenseResponseDto row : (Iterable<ExpenseResponseDto>) rows::iterator) {
+            csv.writeRecord(
+                    row.getId().toString(),
+                    row.getAmount().toPlainString(),
+                    row.getDate().toString(),
+                    row.getDescription(),
+                    row.getCategoryName(),
+                    row.getCurrency(),
+                    row.getBaseAmount().toPlainString());
+        }
+    }
+
+    private void writeNdjson(Stream<ExpenseResponseDto> rows, Writer writer) throws IOException {
+        // Flushing after every value would push each row to the socket on its own.
+        ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        for (ExpenseResponseDto row : (Iterable<ExpenseResponseDto>) rows::iterator) {
+            rowWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    /**
+     * Moves the month bucket of {@code date} by the given base-currency amount and row count, in
+     * the caller's transaction so the rollup commits or rolls back together with the expense
+     * change. Spend that goes up is checked against the category's budget with the total the
+     * upsert returns; reductions can only lower the level, so they skip the check.
+     */
+    private void applyRollupDelta(Long userId, Long categoryId, LocalDate date, BigDecimal amount, long count) {
+        LocalDate month = date.withDayOfMonth(1);
+        BigDecimal total = rollupRepository.applyDelta(userId, categoryId, month, amount, count);
+        if (amount.signum() > 0) {
+            budgetThresholdChecker.checkSpend(userId, categoryId, month, total.subtract(amount), total);
+        }
     }
 }
@@ -0,0 +1,109 @@
+package com.example.expensetracker.service.impl;
+
+import com.example.expensetracker.exception.ConflictException;
+import com.example.expensetracker.exception.UnprocessableEntityException;
+import com.example.expensetracker.model.IdempotencyRecord;
+import com.example.expensetracker.model.IdempotencyRecordId;
+import com.example.expensetracker.payload.IdempotentResponse;
+import com.example.expensetracker.repository.IdempotencyRecordRepository;
+import com.example.expensetracker.service.IdempotencyService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Remembers the response to each (user, Idempotency-Key) pair for a bounded time. Completed
+ * responses are served from a size-bounded in-memory cache; the database table is the source of
+ * truth, shared between instances and surviving restarts, and also serializes concurrent
+ * requests for the same key through a single-statement claim.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final String KEY_IN_PROGRESS = "A request with this Idempotency-Key is still being processed";
+    private static final String KEY_REUSED = "This Idempotency-Key was already used for a different request";
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final Duration keyTtl;
+    private final Duration lockTimeout;
+    private final Cache<IdempotencyRecordId, IdempotentResponse> completedResponses;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository recordRepository,
+                                  @Value("${app.idempotencyKeyTtlMs}") long keyTtlMs,
+                                  @Value("${app.idempotencyLockTimeoutMs}") long lockTimeoutMs,
+                                  @Value("${app.idempotencyCacheMaxSize:10000}") long cacheMaxSize,
+                                  MeterRegistry meterRegistry) {
+        this.recordRepository = recordRepository;
+        this.keyTtl = Duration.ofMillis(keyTtlMs);
+        this.lockTimeout = Duration.ofMillis(lockTimeoutMs);
+        this.completedResponses = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(keyTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completedResponses, "idempotentResponses");
+    }
+
+    /**
+     * Returns the stored response when this is a retry, or empty when the caller now owns the key
+     * and must either {@link #complete} or {@link #release} it.
+     */
+    @Override
+    @Transactional
+    public Optional<IdempotentResponse> begin(Long userId, String idempotencyKey, String requestHash) {
+        IdempotencyRecordId id = new IdempotencyRecordId(userId, idempotencyKey);
+        IdempotentResponse cached = completedResponses.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(checkSameRequest(cached, requestHash));
+        }
+
+        Instant now = Instant.now();
+        if (recordRepository.claim(userId, idempotencyKey, requestHash, now, now.minus(keyTtl), now.minus(lockTimeout)) == 1) {
+            return Optional.empty();
+        }
+
+        IdempotencyRecord record = recordRepository.findById(id)
+                .orElseThrow(() -> new ConflictException(KEY_IN_PROGRESS));
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new UnprocessableEntityException(KEY_REUSED);
+        }
+        if (record.getStatusCode() == null) {
+            throw new ConflictException(KEY_IN_PROGRESS);
+        }
+        IdempotentResponse stored = new IdempotentResponse(record.getRequestHash(), record.getStatusCode(),
+                record.getContentType(), record.getLocation(), record.getResponseBody());
+        completedResponses.put(id, stored);
+        return Optional.of(stored);
+    }
+
+    @Override
+    @Transactional
+    public void complete(Long userId, String idempotencyKey, IdempotentResponse response) {
+        int rows = recordRepository.complete(userId, idempotencyKey, response.getRequestHash(), response.getStatusCode(),
+                response.getContentType(), response.getLocation(), response.getBody());
+        if (rows == 1) {
+            completedResponses.put(new IdempotencyRecordId(userId, idempotencyKey), response);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(Long userId, String idempotencyKey, String requestHash) {
+        recordRepository.release(userId, idempotencyKey, requestHash);
+    }
+
+    private IdempotentResponse checkSameRequest(IdempotentResponse response, String requestHash) {
+        if (!response.getRequestHash().equals(requestHash)) {
+            throw new UnprocessableEntityException(KEY_REUSED);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.expensetracker.service.impl;
+
+import com.example.expensetracker.exception.BadRequestException;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.payload.CategoryResponseDto;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.service.CategoryService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The category ownership checks shared by everything that attaches a category to a user's
+ * record, answered from the user's cached category list where possible.
+ */
+@Component
+public class OwnedCategoryResolver {
+
+    private static final Set<String> CATEGORY_FOREIGN_KEYS =
+            Set.of("fk_expenses_category", "fk_recurring_expenses_category", "fk_budgets_category");
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
+    private final CacheManager cacheManager;
+
+    public OwnedCategoryResolver(CategoryRepository categoryRepository, CategoryService categoryService,
+                                 CacheManager cacheManager) {
+        this.categoryRepository = categoryRepository;
+        this.categoryService = categoryService;
+        this.cacheManager = cacheManager;
+    }
+
+    public Map<Long, String> cachedCategoryNames(Long userId) {
+        return categoryService.getCategoriesForUser(userId).stream()
+                .collect(Collectors.toMap(CategoryResponseDto::getId, CategoryResponseDto::getName));
+    }
+
+    /**
+     * Returns the category to attach to an expense. A category in the user's cached list is
+     * returned as an uninitialized reference, costing no query; anything else is loaded so that
+     * unknown and foreign categories are rejected with the same messages as before.
+     */
+    public Category resolveOwnedCategory(Long categoryId, Long userId, Map<Long, String> ownedCategoryNames) {
+        if (ownedCategoryNames.containsKey(categoryId)) {
+            return categoryRepository.getReferenceById(categoryId);
+        }
+
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new BadRequestException("Category not found with id: " + categoryId));
+
+        if (!category.getUser().getId().equals(userId)) {
+            throw new BadRequestException("Category does not belong to the current user.");
+        }
+        return category;
+    }
+
+    /**
+     * Takes the name from the cached list when possible so an uninitialized reference is not loaded.
+     */
+    public String categoryName(Category category, Map<Long, String> ownedCategoryNames) {
+        return ownedCategoryNames.containsKey(category.getId())
+                ? ownedCategoryNames.get(category.getId())
+                : category.getName();
+    }
+
+    /**
+     * Runs a write that attaches the given category, which may have come from the cached list.
+     * A category deleted through another instance is still in this instance's cache, and the
+     * foreign key then rejects the write; the stale entry is evicted and the request is refused
+     * the same way as an unknown category instead of failing with a 500.
+     */
+    public <T> T attachingCategory(Long categoryId, Long userId, Supplier<T> write) {
+        return attachingCategories(userId, "Category not found with id: " + categoryId, write);
+    }
+
+    /**
+     * As {@link #attachingCategory}, for a write that attaches several categories at once.
+     */
+    public <T> T attachingCategories(Long userId, String notFoundMessage, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException ex) {
+            if (!violatesCategoryForeignKey(ex)) {
+                throw ex;
+            }
+            Cache categories = cacheManager.getCache(CategoryServiceImpl.USER_CATEGORIES_CACHE);
+            if (categories != null) {
+                categories.evict(userId);
+            }
+            throw new BadRequestException(notFoundMessage);
+        }
+    }
+
+    /**
+     * Hibernate reports the constraint by name; a plain JDBC batch is not translated by
+     * Hibernate, so there the name is read from the server's message.
+     */
+    private static boolean violatesCategoryForeignKey(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return CATEGORY_FOREIGN_KEYS.contains(violation.getConstraintName().toLowerCase(Locale.ROOT));
+            }
+            if (cause instanceof SQLException sqlException && FOREIGN_KEY_VIOLATION.equals(sqlException.getSQLState())) {
+                String message = String.valueOf(sqlException.getMessage());
+                return CATEGORY_FOREIGN_KEYS.stream().anyMatch(name -> message.contains("\"" + name + "\""));
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.expensetracker.service.impl;
+
+import com.example.expensetracker.exception.BadRequestException;
+import com.example.expensetracker.exception.ForbiddenException;
+import com.example.expensetracker.exception.ResourceNotFoundException;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.RecurringExpense;
+import com.example.expensetracker.payload.BatchRowResult;
+import com.example.expensetracker.payload.ExpenseRequest;
+import com.example.expensetracker.payload.RecurringExpenseRequest;
+import com.example.expensetracker.payload.RecurringExpenseResponseDto;
+import com.example.expensetracker.repository.RecurringExpenseRepository;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.service.CurrencyService;
+import com.example.expensetracker.service.ExpenseService;
+import com.example.expensetracker.service.RecurringExpenseService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recurring expense rules and the posting of their due occurrences. Occurrences go through
+ * {@link ExpenseService#createExpenses}, so they get the same validation and category ownership
+ * checks as an uploaded batch, are inserted as JDBC batches, and move the rollup and the
+ * owner's data version like any other new expense.
+ */
+@Service
+@Timed("service.calls")
+public class RecurringExpenseServiceImpl implements RecurringExpenseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringExpenseServiceImpl.class);
+
+    private final RecurringExpenseRepository recurringExpenseRepository;
+    private final UserRepository userRepository;
+    private final ExpenseService expenseService;
+    private final OwnedCategoryResolver ownedCategoryResolver;
+    private final CurrencyService currencyService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxCatchUp;
+
+    public RecurringExpenseServiceImpl(RecurringExpenseRepository recurringExpenseRepository, UserRepository userRepository,
+                                       ExpenseService expenseService, OwnedCategoryResolver ownedCategoryResolver,
+                                       CurrencyService currencyService, TransactionTemplate transactionTemplate,
+                                       @Value("${app.recurringExpenseBatchSize:200}") int batchSize,
+                                       @Value("${app.recurringExpenseMaxCatchUp:31}") int maxCatchUp) {
+        this.recurringExpenseRepository = recurringExpenseRepository;
+        this.userRepository = userRepository;
+        this.expenseService = expenseService;
+        this.ownedCategoryResolver = ownedCategoryResolver;
+        this.currencyService = currencyService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxCatchUp = maxCatchUp;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringExpenseResponseDto> getRecurringExpensesForUser(Long userId) {
+        Map<Long, String> ownedCategoryNames = ownedCategoryResolver.cachedCategoryNames(userId);
+        String baseCurrency = currencyService.getBaseCurrency(userId);
+        return recurringExpenseRepository.findByUserIdOrderById(userId).stream()
+                .map(rule -> toDto(rule, ownedCategoryResolver.categoryName(rule.getCategory(), ownedCategoryNames), baseCurrency))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public RecurringExpenseResponseDto createRecurringExpense(RecurringExpenseRequest request, Long userId) {
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new BadRequestException("End date must not be before the start date.");
+        }
+        if (request.getCurrency() != null && !currencyService.isSupported(request.getCurrency())) {
+            throw new BadRequestException("Unsupported currency: " + request.getCurrency());
+        }
+        Map<Long, String> ownedCategoryNames = ownedCategoryResolver.cachedCategoryNames(userId);
+        Category category = ownedCategoryResolver.resolveOwnedCategory(request.getCategoryId(), userId, ownedCategoryNames);
+
+        RecurringExpense rule = new RecurringExpense();
+        rule.setUser(userRepository.getReferenceById(userId));
+        rule.setCategory(category);
+        rule.setAmount(request.getAmount());
+        rule.setCurrency(request.getCurrency());
+        rule.setDescription(request.getDescription());
+        rule.setFrequency(request.getFrequency());
+        rule.setInterval(request.getInterval());
+        rule.setStartDate(request.getStartDate());
+        rule.setEndDate(request.getEndDate());
+        rule.setOccurrencesPosted(0);
+        rule.setNextOccurrence(request.getStartDate());
+        RecurringExpense savedRule = ownedCategoryResolver.attachingCategory(category.getId(), userId,
+                () -> recurringExpenseRepository.saveAndFlush(rule));
+        return toDto(savedRule, ownedCategoryResolver.categoryName(category, ownedCategoryNames),
+                currencyService.getBaseCurrency(userId));
+    }
+
+    @Override
+    @Transactional
+    public void deleteRecurringExpense(Long id, Long userId) {
+        RecurringExpense rule = recurringExpenseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring expense not found with id: " + id));
+        if (!rule.getUser().getId().equals(userId)) {
+            throw new ForbiddenException("User is not authorized to access this recurring expense");
+        }
+        recurringExpenseRepository.delete(rule);
+    }
+
+    /**
+     * Posts every occurrence due on or before {@code today}, walking the due rules in id order
+     * one batch per transaction. Each rule posts at most {@code app.recurringExpenseMaxCatchUp}
+     * occurrences per call, so catching up after downtime is spread over several runs instead of
+     * holding locks on one long transaction. A batch that fails is retried one rule at a time,
+     * so a rule that cannot be posted holds back only itself.
+     *
+     * @return the number of expenses posted
+     */
+    @Override
+    public int postDueOccurrences(LocalDate today) {
+        int posted = 0;
+        long afterId = 0;
+        while (true) {
+            long batchAfterId = afterId;
+            PostedBatch batch;
+            try {
+                batch = transactionTemplate.execute(status -> postDueBatch(today, batchAfterId, batchSize, new AtomicLong()));
+            } catch (RuntimeException ex) {
+                logger.warn("Posting the recurring expenses after rule {} failed; retrying them one at a time", batchAfterId, ex);
+                batch = postDueRulesSeparately(today, batchAfterId);
+            }
+            posted += batch.posted;
+            if (batch.rules < batchSize) {
+                return posted;
+            }
+            afterId = batch.lastRuleId;
+        }
+    }
+
+    /**
+     * Covers the same window as one batch with a transaction per rule. A rule that fails is
+     * rolled back alone and left due, to be tried again on the next run, while the rules after
+     * it are posted. A failure before any rule is locked is not down to a rule and is rethrown.
+     */
+    private PostedBatch postDueRulesSeparately(LocalDate today, long afterId) {
+        int rules = 0;
+        int posted = 0;
+        long lastRuleId = afterId;
+        while (rules < batchSize) {
+            long ruleAfterId = lastRuleId;
+            AtomicLong lockedRuleId = new AtomicLong(ruleAfterId);
+            try {
+                PostedBatch rule = transactionTemplate.execute(status -> postDueBatch(today, ruleAfterId, 1, lockedRuleId));
+                if (rule.rules == 0) {
+                    break;
+                }
+                posted += rule.posted;
+            } catch (RuntimeException ex) {
+                if (lockedRuleId.get() == ruleAfterId) {
+                    throw ex;
+                }
+                logger.error("Recurring expense {} could not be posted and stays due until the next run",
+                        lockedRuleId.get(), ex);
+            }
+            rules++;
+            lastRuleId = lockedRuleId.get();
+        }
+        return new PostedBatch(rules, lastRuleId, posted);
+    }
+
+    /**
+     * Locks up to {@code limit} due rules after {@code afterId} and posts their occurrences. The
+     * last locked rule id is put in {@code lastLockedRuleId} before anything is posted, so a
+     * caller still knows which rules a failed transaction covered.
+     */
+    private PostedBatch postDueBatch(LocalDate today, long afterId, int limit, AtomicLong lastLockedRuleId) {
+        List<RecurringExpense> rules = recurringExpenseRepository.lockDueBatch(today, afterId, limit);
+        if (!rules.isEmpty()) {
+            lastLockedRuleId.set(rules.get(rules.size() - 1).getId());
+        }
+        Map<Long, List<ExpenseRequest>> occurrencesByUser = new LinkedHashMap<>();
+        Map<Long, List<RecurringExpense>> sourcesByUser = new LinkedHashMap<>();
+        for (RecurringExpense rule : rules) {
+            Long userId = rule.getUser().getId();
+            List<ExpenseRequest> occurrences = occurrencesByUser.computeIfAbsent(userId, id -> new ArrayList<>());
+            List<RecurringExpense> sources = sourcesByUser.computeIfAbsent(userId, id -> new ArrayList<>());
+            for (int i = 0; i < maxCatchUp && rule.getNextOccurrence() != null && !rule.getNextOccurrence().isAfter(today); i++) {
+                occurrences.add(toExpenseRequest(rule));
+                sources.add(rule);
+                advance(rule);
+            }
+        }
+
+        int posted = 0;
+        for (Map.Entry<Long, List<ExpenseRequest>> entry : occurrencesByUser.entrySet()) {
+            List<ExpenseRequest> occurrences = entry.getValue();
+            List<RecurringExpense> sources = sourcesByUser.get(entry.getKey());
+            for (BatchRowResult result : expenseService.createExpenses(occurrences, entry.getKey())) {
+                if (result.getStatus() == BatchRowResult.Status.CREATED) {
+                    posted++;
+                } else {
+                    // The rule still moves on; retrying would be rejected the same way on every run.
+                    logger.warn("Skipped occurrence {} of recurring expense {}: {}",
+                            occurrences.get(result.getIndex()).getDate(), sources.get(result.getIndex()).getId(), result.getErrors());
+                }
+            }
+        }
+        long lastRuleId = rules.isEmpty() ? afterId : rules.get(rules.size() - 1).getId();
+        return new PostedBatch(rules.size(), lastRuleId, posted);
+    }
+
+    private static ExpenseRequest toExpenseRequest(RecurringExpense rule) {
+        ExpenseRequest occurrence = new ExpenseRequest();
+        occurrence.setAmount(rule.getAmount());
+        occurrence.setCurrency(rule.getCurrency());
+        occurrence.setDate(rule.getNextOccurrence());
+        occurrence.setDescription(rule.getDescription());
+        occurrence.setCategoryId(rule.getCategory().getId());
+        return occurrence;
+    }
+
+    private static void advance(RecurringExpense rule) {
+        int posted = rule.getOccurrencesPosted() + 1;
+        LocalDate next = rule.getFrequency().occurrence(rule.getStartDate(), rule.getInterval(), posted);
+        rule.setOccurrencesPosted(posted);
+        rule.setNextOccurrence(rule.getEndDate() != null && next.isAfter(rule.getEndDate()) ? null : next);
+    }
+
+    private RecurringExpenseResponseDto toDto(RecurringExpense rule, String categoryName, String baseCurrency) {
+        return new RecurringExpenseResponseDto(
+                rule.getId(),
+                rule.getAmount(),
+                rule.getCurrency() != null ? rule.getCurrency() : baseCurrency,
+                rule.getDescription(),
+                categoryName,
+                rule.getFrequency(),
+                rule.getInterval(),
+                rule.getStartDate(),
+                rule.getEndDate(),
+                rule.getNextOccurrence()
+        );
+    }
+
+    private static class PostedBatch {
+        private final int rules;
+        private final long lastRuleId;
+        private final int posted;
+
+        PostedBatch(int rules, long lastRuleId, int posted) {
+            this.rules = rules;
+            this.lastRuleId = lastRuleId;
+            this.posted = posted;
+        }
+    }
+}
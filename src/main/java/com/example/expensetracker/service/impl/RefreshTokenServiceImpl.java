@@ -0,0 +1,109 @@
+package com.example.expensetracker.service.impl;
+
+import com.example.expensetracker.exception.UnauthorizedException;
+import com.example.expensetracker.model.RefreshToken;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.AuthResponse;
+import com.example.expensetracker.repository.RefreshTokenRepository;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.security.JwtTokenProvider;
+import com.example.expensetracker.security.UserPrincipal;
+import com.example.expensetracker.service.RefreshTokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Pairs short-lived access tokens with opaque, single-use refresh tokens. Access tokens are
+ * verified in memory only, so revocation takes effect at the next refresh: the refresh token row
+ * must still exist, be unexpired, and carry the user's current token version.
+ */
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final String INVALID_REFRESH_TOKEN = "Invalid or expired refresh token";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider tokenProvider;
+    private final long refreshTokenExpirationInMs;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   UserRepository userRepository,
+                                   JwtTokenProvider tokenProvider,
+                                   @Value("${app.refreshTokenExpirationInMs}") long refreshTokenExpirationInMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenProvider = tokenProvider;
+        this.refreshTokenExpirationInMs = refreshTokenExpirationInMs;
+    }
+
+    @Override
+    @Transactional
+    public AuthResponse issueTokens(UserPrincipal user) {
+        String refreshToken = newRefreshToken(userRepository.getReferenceById(user.getId()), user.getTokenVersion());
+        return new AuthResponse(tokenProvider.generateToken(user), refreshToken, tokenProvider.getExpirationInMs() / 1000);
+    }
+
+    @Override
+    @Transactional
+    public AuthResponse refresh(String refreshToken) {
+        String tokenHash = hash(refreshToken);
+        RefreshToken stored = refreshTokenRepository.findWithUserByTokenHash(tokenHash)
+                .orElseThrow(() -> new UnauthorizedException(INVALID_REFRESH_TOKEN));
+
+        // Deleting first makes the token single-use even when two refreshes race: only the one
+        // whose delete removed the row may continue.
+        if (refreshTokenRepository.deleteByTokenHash(tokenHash) == 0) {
+            throw new UnauthorizedException(INVALID_REFRESH_TOKEN);
+        }
+        User user = stored.getUser();
+        if (stored.getExpiresAt().isBefore(Instant.now()) || stored.getTokenVersion() != user.getTokenVersion()) {
+            throw new UnauthorizedException(INVALID_REFRESH_TOKEN);
+        }
+
+        String newRefreshToken = newRefreshToken(user, user.getTokenVersion());
+        String accessToken = tokenProvider.generateToken(UserPrincipal.create(user));
+        return new AuthResponse(accessToken, newRefreshToken, tokenProvider.getExpirationInMs() / 1000);
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.deleteByTokenHash(hash(refreshToken));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    private String newRefreshToken(User user, int tokenVersion) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant expiresAt = Instant.now().plusMillis(refreshTokenExpirationInMs);
+        refreshTokenRepository.save(new RefreshToken(user, hash(token), tokenVersion, expiresAt));
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.expensetracker.service.impl;
+
+import com.example.expensetracker.exception.BadRequestException;
+import com.example.expensetracker.payload.CategorySummaryDto;
+import com.example.expensetracker.payload.PeriodSummaryDto;
+import com.example.expensetracker.payload.SummaryGranularity;
+import com.example.expensetracker.repository.ExpenseMonthlyRollupRepository;
+import com.example.expensetracker.repository.ExpenseRepository;
+import com.example.expensetracker.service.SummaryService;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Spending reports computed by the database with {@code GROUP BY}; no {@code Expense} entities
+ * are loaded, so a report costs one aggregate query over the {@code (user_id, date, id)} index.
+ * Ranges made of whole calendar months are answered from {@code expense_monthly_rollup}
+ * instead, which costs O(months x categories) regardless of how many expenses they contain.
+ */
+@Service
+public class SummaryServiceImpl implements SummaryService {
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseMonthlyRollupRepository rollupRepository;
+
+    public SummaryServiceImpl(ExpenseRepository expenseRepository, ExpenseMonthlyRollupRepository rollupRepository) {
+        this.expenseRepository = expenseRepository;
+        this.rollupRepository = rollupRepository;
+    }
+
+    @Override
+    public List<CategorySummaryDto> summarizeByCategory(Long userId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        if (coversWholeMonths(from, to)) {
+            return rollupRepository.summarizeByCategory(userId, from, to);
+        }
+        return expenseRepository.summarizeByCategory(userId, from, to);
+    }
+
+    @Override
+    public List<PeriodSummaryDto> summarizeByPeriod(Long userId, LocalDate from, LocalDate to, SummaryGranularity granularity) {
+        validateRange(from, to);
+        if (granularity == SummaryGranularity.MONTH && coversWholeMonths(from, to)) {
+            return rollupRepository.summarizeByMonth(userId, from, to);
+        }
+        return expenseRepository.summarizeByPeriod(userId, from, to, granularity.getTruncUnit()).stream()
+                .map(row -> new PeriodSummaryDto(row.getPeriodStart(), row.getTotal(), row.getCount()))
+                .collect(Collectors.toList());
+    }
+
+    private boolean coversWholeMonths(LocalDate from, LocalDate to) {
+        return from.getDayOfMonth() == 1 && to.equals(to.with(TemporalAdjusters.lastDayOfMonth()));
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.expensetracker.service.impl;
+
+import com.example.expensetracker.model.SyncEntityType;
+import com.example.expensetracker.payload.SyncResponse;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.ExpenseRepository;
+import com.example.expensetracker.repository.SyncTombstoneRepository;
+import com.example.expensetracker.service.DataVersionService;
+import com.example.expensetracker.service.SyncService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Delta sync keyed on the user's data version. Every write stamps the rows it touches, and every
+ * delete leaves a tombstone, with the version it took, so "changed since" is an index range scan
+ * whose cost follows the number of changes rather than the size of the history.
+ */
+@Service
+public class SyncServiceImpl implements SyncService {
+
+    private final DataVersionService dataVersionService;
+    private final ExpenseRepository expenseRepository;
+    private final CategoryRepository categoryRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+
+    public SyncServiceImpl(DataVersionService dataVersionService, ExpenseRepository expenseRepository,
+                           CategoryRepository categoryRepository, SyncTombstoneRepository tombstoneRepository) {
+        this.dataVersionService = dataVersionService;
+        this.expenseRepository = expenseRepository;
+        this.categoryRepository = categoryRepository;
+        this.tombstoneRepository = tombstoneRepository;
+    }
+
+    /**
+     * Reads the watermark and the changes from one snapshot, so the returned watermark covers
+     * exactly the returned changes. A {@code null} {@code since} returns everything and no
+     * tombstones, for a client's first sync.
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SyncResponse getChangesSince(Long userId, Long since) {
+        long watermark = dataVersionService.getDataVersion(userId);
+        if (since == null) {
+            return new SyncResponse(watermark,
+                    expenseRepository.findChangedSince(userId, -1),
+                    categoryRepository.findChangedSince(userId, -1),
+                    List.of(), List.of());
+        }
+        if (since >= watermark) {
+            return new SyncResponse(watermark, List.of(), List.of(), List.of(), List.of());
+        }
+        return new SyncResponse(watermark,
+                expenseRepository.findChangedSince(userId, since),
+                categoryRepository.findChangedSince(userId, since),
+                tombstoneRepository.findDeletedIdsSince(userId, SyncEntityType.EXPENSE, since),
+                tombstoneRepository.findDeletedIdsSince(userId, SyncEntityType.CATEGORY, since));
+    }
+}
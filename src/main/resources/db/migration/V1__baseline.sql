@@ -0,0 +1,116 @@
+-- Schema as previously created by Hibernate's ddl-auto=update plus db/search-schema.sql.
+-- Written to be a no-op on databases that already have it, so existing installations can be
+-- brought under Flyway by baselining at version 0 and running this script.
+
+create extension if not exists pg_trgm;
+create extension if not exists btree_gin;
+
+create table if not exists users (
+    id            bigserial    not null,
+    username      varchar(255) not null,
+    email         varchar(255) not null,
+    password      varchar(255) not null,
+    token_version integer      default 0 not null,
+    data_version  bigint       default 0 not null,
+    constraint users_pkey primary key (id),
+    constraint users_email_key unique (email)
+);
+
+create table if not exists categories (
+    id           bigserial    not null,
+    user_id      bigint       not null,
+    name         varchar(255) not null,
+    data_version bigint       default 0 not null,
+    constraint categories_pkey primary key (id)
+);
+
+create table if not exists expenses (
+    id           bigserial      not null,
+    user_id      bigint         not null,
+    category_id  bigint         not null,
+    amount       numeric(38, 2) not null,
+    date         date           not null,
+    description  varchar(255),
+    data_version bigint         default 0 not null,
+    constraint expenses_pkey primary key (id)
+);
+
+create table if not exists expense_monthly_rollup (
+    user_id     bigint         not null,
+    category_id bigint         not null,
+    month       date           not null,
+    total       numeric(38, 2) not null,
+    count       bigint         not null,
+    constraint expense_monthly_rollup_pkey primary key (month, category_id, user_id)
+);
+
+create table if not exists refresh_tokens (
+    id            bigserial                   not null,
+    user_id       bigint                      not null,
+    token_hash    varchar(64)                 not null,
+    token_version integer                     not null,
+    expires_at    timestamp(6) with time zone not null,
+    constraint refresh_tokens_pkey primary key (id),
+    constraint refresh_tokens_token_hash_key unique (token_hash)
+);
+
+create table if not exists idempotency_records (
+    user_id         bigint                      not null,
+    idempotency_key varchar(255)                not null,
+    request_hash    varchar(64)                 not null,
+    status_code     integer,
+    content_type    varchar(255),
+    location        varchar(255),
+    response_body   bytea,
+    created_at      timestamp(6) with time zone not null,
+    constraint idempotency_records_pkey primary key (user_id, idempotency_key)
+);
+
+create table if not exists sync_tombstones (
+    id           bigserial                   not null,
+    user_id      bigint                      not null,
+    entity_type  varchar(16)                 not null,
+    entity_id    bigint                      not null,
+    data_version bigint                      not null,
+    deleted_at   timestamp(6) with time zone not null,
+    constraint sync_tombstones_pkey primary key (id),
+    constraint sync_tombstones_entity_type_check check (entity_type in ('EXPENSE', 'CATEGORY'))
+);
+
+-- Hibernate named foreign keys after a hash, so look them up by what they reference instead.
+do $$
+begin
+    if not exists (select 1 from pg_constraint
+                   where contype = 'f' and conrelid = 'categories'::regclass and confrelid = 'users'::regclass) then
+        alter table categories add constraint fk_categories_user foreign key (user_id) references users;
+    end if;
+    if not exists (select 1 from pg_constraint
+                   where contype = 'f' and conrelid = 'expenses'::regclass and confrelid = 'users'::regclass) then
+        alter table expenses add constraint fk_expenses_user foreign key (user_id) references users;
+    end if;
+    if not exists (select 1 from pg_constraint
+                   where contype = 'f' and conrelid = 'expenses'::regclass and confrelid = 'categories'::regclass) then
+        alter table expenses add constraint fk_expenses_category foreign key (category_id) references categories;
+    end if;
+    if not exists (select 1 from pg_constraint
+                   where contype = 'f' and conrelid = 'refresh_tokens'::regclass and confrelid = 'users'::regclass) then
+        alter table refresh_tokens add constraint fk_refresh_tokens_user foreign key (user_id) references users on delete cascade;
+    end if;
+end
+$$;
+
+create index if not exists idx_categories_user_data_version on categories (user_id, data_version);
+create index if not exists idx_expenses_user_date_id on expenses (user_id, date, id);
+create index if not exists idx_expenses_user_data_version on expenses (user_id, data_version);
+create index if not exists idx_expense_monthly_rollup_user_month on expense_monthly_rollup (user_id, month);
+create index if not exists idx_refresh_tokens_user_id on refresh_tokens (user_id);
+create index if not exists idx_idempotency_records_created_at on idempotency_records (created_at);
+create index if not exists idx_sync_tombstones_user_data_version on sync_tombstones (user_id, data_version);
+
+-- Full-text and trigram search over expense descriptions (GET /api/expenses/search).
+alter table expenses add column if not exists description_tsv tsvector
+    generated always as (to_tsvector('simple', coalesce(description, ''))) stored;
+
+-- user_id leads both indexes (via btree_gin) so a search only touches the caller's postings.
+create index if not exists idx_expenses_user_description_tsv on expenses using gin (user_id, description_tsv);
+create index if not exists idx_expenses_user_description_trgm on expenses using gin (user_id, description gin_trgm_ops);
@@ -0,0 +1,26 @@
+-- Foreign-key side of expenses -> categories: category deletes and per-category filters no
+-- longer scan every expense. expenses(user_id) lookups are already served by the leading
+-- column of idx_expenses_user_date_id.
+create index idx_expenses_category_id on expenses (category_id);
+
+-- Category names are unique per user. Enforced here so concurrent creates cannot both pass a
+-- check-then-insert; this index also serves category lookups by user.
+alter table categories add constraint uk_categories_user_name unique (user_id, name);
+
+-- Emails are unique and looked up case-insensitively; this replaces the case-sensitive constraint.
+-- Hibernate-created databases carry it under a generated name, so find it by its column.
+create unique index uk_users_email_lower on users (lower(email));
+do $$
+declare
+    email_constraint name;
+begin
+    for email_constraint in
+        select c.conname from pg_constraint c
+        join pg_attribute a on a.attrelid = c.conrelid and a.attnum = c.conkey[1]
+        where c.conrelid = 'users'::regclass and c.contype = 'u'
+          and array_length(c.conkey, 1) = 1 and a.attname = 'email'
+    loop
+        execute format('alter table users drop constraint %I', email_constraint);
+    end loop;
+end
+$$;
@@ -0,0 +1,18 @@
+-- Entity ids move from IDENTITY columns to sequences read by Hibernate's pooled optimizer: each
+-- nextval reserves the block of 50 ids ending at the returned value, so inserts no longer need a
+-- round trip each and can be batched. The first block starts right after the highest existing id.
+
+create sequence users_seq increment by 50;
+select setval('users_seq', coalesce((select max(id) from users), 0) + 50, false);
+alter table users alter column id drop default;
+drop sequence if exists users_id_seq;
+
+create sequence categories_seq increment by 50;
+select setval('categories_seq', coalesce((select max(id) from categories), 0) + 50, false);
+alter table categories alter column id drop default;
+drop sequence if exists categories_id_seq;
+
+create sequence expenses_seq increment by 50;
+select setval('expenses_seq', coalesce((select max(id) from expenses), 0) + 50, false);
+alter table expenses alter column id drop default;
+drop sequence if exists expenses_id_seq;
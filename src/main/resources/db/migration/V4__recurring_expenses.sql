@@ -0,0 +1,24 @@
+-- Rules that post the same expense on a schedule (see RecurringExpenseJob). Deleting the user
+-- or the category deletes the rule.
+create table recurring_expenses (
+    id                 bigserial      not null,
+    user_id            bigint         not null,
+    category_id        bigint         not null,
+    amount             numeric(38, 2) not null,
+    description        varchar(255),
+    frequency          varchar(16)    not null,
+    interval_count     integer        not null,
+    start_date         date           not null,
+    end_date           date,
+    occurrences_posted integer        not null,
+    next_occurrence    date,
+    constraint recurring_expenses_pkey primary key (id),
+    constraint recurring_expenses_frequency_check check (frequency in ('DAILY', 'WEEKLY', 'MONTHLY', 'YEARLY')),
+    constraint recurring_expenses_interval_check check (interval_count > 0),
+    constraint fk_recurring_expenses_user foreign key (user_id) references users on delete cascade,
+    constraint fk_recurring_expenses_category foreign key (category_id) references categories on delete cascade
+);
+
+create index idx_recurring_expenses_user_id on recurring_expenses (user_id);
+create index idx_recurring_expenses_category_id on recurring_expenses (category_id);
+create index idx_recurring_expenses_next_occurrence on recurring_expenses (next_occurrence);
@@ -0,0 +1,33 @@
+-- Monthly per-category budgets. Spend is read from expense_monthly_rollup, so checking a
+-- budget on a write is a single-row operation.
+create table budgets (
+    id                      bigserial      not null,
+    user_id                 bigint         not null,
+    category_id             bigint         not null,
+    amount                  numeric(38, 2) not null,
+    alert_threshold_percent integer        not null,
+    constraint budgets_pkey primary key (id),
+    constraint uk_budgets_user_category unique (user_id, category_id),
+    constraint budgets_alert_threshold_percent_check check (alert_threshold_percent between 1 and 100),
+    constraint fk_budgets_user foreign key (user_id) references users on delete cascade,
+    constraint fk_budgets_category foreign key (category_id) references categories on delete cascade
+);
+
+create index idx_budgets_category_id on budgets (category_id);
+
+-- One row per budget level reached per month; the unique key makes raising an alert idempotent.
+create table budget_alerts (
+    id            bigserial                   not null,
+    user_id       bigint                      not null,
+    category_id   bigint                      not null,
+    month         date                        not null,
+    level         varchar(16)                 not null,
+    spent         numeric(38, 2)              not null,
+    budget_amount numeric(38, 2)              not null,
+    created_at    timestamp(6) with time zone not null,
+    constraint budget_alerts_pkey primary key (id),
+    constraint uk_budget_alerts_user_category_month_level unique (user_id, category_id, month, level),
+    constraint budget_alerts_level_check check (level in ('WARNING', 'EXCEEDED'))
+);
+
+create index idx_budget_alerts_user_month on budget_alerts (user_id, month);
@@ -0,0 +1,23 @@
+-- Every expense keeps the amount and currency it was entered in, plus base_amount: the amount
+-- converted to the owner's base currency when it was written. Summaries, the monthly rollup and
+-- budgets sum base_amount, so reads never convert per row.
+--
+-- Amounts written before this migration carry no currency; they are taken to be USD, which also
+-- becomes the base currency of every existing user, so their base_amount is the amount itself.
+-- The column defaults only backfill existing rows (constant defaults do not rewrite the table);
+-- the application always writes both values.
+alter table users add column base_currency varchar(3) not null default 'USD';
+alter table users alter column base_currency drop default;
+alter table users add constraint users_base_currency_check check (base_currency ~ '^[A-Z]{3}$');
+
+alter table expenses add column currency varchar(3) not null default 'USD';
+alter table expenses alter column currency drop default;
+alter table expenses add constraint expenses_currency_check check (currency ~ '^[A-Z]{3}$');
+
+alter table expenses add column base_amount numeric(38, 2);
+update expenses set base_amount = amount;
+alter table expenses alter column base_amount set not null;
+
+-- Null means the owner's base currency.
+alter table recurring_expenses add column currency varchar(3);
+alter table recurring_expenses add constraint recurring_expenses_currency_check check (currency ~ '^[A-Z]{3}$');
@@ -0,0 +1,117 @@
+package com.example.expensetracker;
+
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.ExpenseRequest;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.security.JwtTokenProvider;
+import com.example.expensetracker.security.UserPrincipal;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The full application against an embedded Postgres started once per test JVM. Every subclass
+ * shares the database and the application context, so tests work with users of their own rather
+ * than cleaning up after each other. Scheduled jobs are off; tests call the services directly.
+ * Every request is held to the default SQL statement budget, but not to the time budget, which
+ * depends on the machine.
+ */
+@SpringBootTest(classes = ExpenseTrackerApplication.class, properties = {
+        "app.rollupRebuildCron=-",
+        "app.refreshTokenCleanupCron=-",
+        "app.idempotencyCleanupCron=-",
+        "app.recurringExpenseCron=-",
+        "app.sqlBudgetEnforced=true",
+        "app.sqlTimeBudgetMs=60000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+public abstract class AbstractIntegrationTest {
+
+    protected static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    private static final AtomicInteger USER_SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected CategoryRepository categoryRepository;
+
+    @Autowired
+    protected JwtTokenProvider tokenProvider;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", AbstractIntegrationTest::jdbcUrl);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.r2dbc.url", AbstractIntegrationTest::r2dbcUrl);
+        registry.add("spring.r2dbc.password", () -> "");
+    }
+
+    protected static String jdbcUrl() {
+        return POSTGRES.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true";
+    }
+
+    protected static String r2dbcUrl() {
+        return "r2dbc:postgresql://localhost:" + POSTGRES.getPort() + "/postgres";
+    }
+
+    protected User createUser() {
+        int n = USER_SEQUENCE.incrementAndGet();
+        return userRepository.save(new User("user" + n, "user" + n + "@example.com", "unused", "USD"));
+    }
+
+    protected Category createCategory(User user, String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setUser(user);
+        return categoryRepository.save(category);
+    }
+
+    protected static ExpenseRequest expenseRequest(Category category, String amount, LocalDate date, String description) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setCategoryId(category.getId());
+        request.setAmount(new BigDecimal(amount));
+        request.setDate(date);
+        request.setDescription(description);
+        return request;
+    }
+
+    protected String bearer(User user) {
+        return "Bearer " + tokenProvider.generateToken(UserPrincipal.create(user));
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // The JVM is exiting; the data directory is temporary either way.
+                }
+            }));
+            return postgres;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
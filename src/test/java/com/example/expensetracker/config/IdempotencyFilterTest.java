@@ -0,0 +1,146 @@
+package com.example.expensetracker.config;
+
+import com.example.expensetracker.security.UserPrincipal;
+import com.example.expensetracker.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private static final int MAX_BODY_BYTES = 64;
+    private static final long USER_ID = 7L;
+
+    private final IdempotencyService idempotencyService = mock(IdempotencyService.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(idempotencyService, new ObjectMapper(), MAX_BODY_BYTES);
+
+    @BeforeEach
+    void authenticate() {
+        UserPrincipal principal = new UserPrincipal(USER_ID, "user@example.com", null, 0);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void declaredOversizedBodyIsRejectedWithoutBeingRead() throws Exception {
+        MockHttpServletRequest request = request(new byte[MAX_BODY_BYTES + 1]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(response.getContentAsString()).contains("must not exceed " + MAX_BODY_BYTES + " bytes");
+        assertThat(request.getInputStream().readAllBytes()).hasSize(MAX_BODY_BYTES + 1);
+        verifyNoInteractions(idempotencyService, chain);
+    }
+
+    @Test
+    void oversizedBodyWithoutContentLengthIsRejected() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/expenses/batch") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContent(new byte[MAX_BODY_BYTES * 4]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        verifyNoInteractions(idempotencyService, chain);
+    }
+
+    @Test
+    void bodyWithinLimitReachesTheControllerAndIsStored() throws Exception {
+        byte[] body = "{\"amount\":4.50}".getBytes(StandardCharsets.UTF_8);
+        when(idempotencyService.begin(eq(USER_ID), eq("key-1"), anyString())).thenReturn(Optional.empty());
+        AtomicReference<byte[]> received = new AtomicReference<>();
+        FilterChain chain = (request, response) -> {
+            received.set(request.getInputStream().readAllBytes());
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        filter.doFilter(request(body), new MockHttpServletResponse(), chain);
+
+        assertThat(received.get()).isEqualTo(body);
+        verify(idempotencyService).complete(eq(USER_ID), eq("key-1"), any());
+    }
+
+    @Test
+    void cachedBodyCanBeReadWithAReadListener() throws Exception {
+        byte[] body = "{\"amount\":4.50}".getBytes(StandardCharsets.UTF_8);
+        when(idempotencyService.begin(eq(USER_ID), eq("key-1"), anyString())).thenReturn(Optional.empty());
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+        FilterChain chain = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add("data");
+                    byte[] buffer = new byte[4];
+                    while (in.isReady() && !in.isFinished()) {
+                        received.write(buffer, 0, in.read(buffer));
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            });
+        };
+
+        filter.doFilter(request(body), new MockHttpServletResponse(), chain);
+
+        assertThat(events).containsExactly("data", "done");
+        assertThat(received.toByteArray()).isEqualTo(body);
+    }
+
+    private static MockHttpServletRequest request(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/expenses");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContentType("application/json");
+        request.setContent(body);
+        return request;
+    }
+}
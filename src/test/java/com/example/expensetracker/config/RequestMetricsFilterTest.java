@@ -0,0 +1,96 @@
+package com.example.expensetracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, new SqlStatementTracker());
+
+    @Test
+    void synchronousResponseIsRecordedWithItsOutcome() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (req, res) -> res.getOutputStream().write(new byte[12]));
+
+        assertThat(responseSize("SUCCESS").count()).isEqualTo(1);
+        assertThat(responseSize("SUCCESS").totalAmount()).isEqualTo(12);
+    }
+
+    @Test
+    void asyncResponseIsRecordedWhenItCompletes() throws Exception {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, startAsync());
+        assertThat(meterRegistry.find("http.server.response.size").summary()).isNull();
+
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        asyncContext.getResponse().getOutputStream().write(new byte[40]);
+        asyncContext.complete();
+
+        assertThat(responseSize("SUCCESS").count()).isEqualTo(1);
+        assertThat(responseSize("SUCCESS").totalAmount()).isEqualTo(40);
+    }
+
+    @Test
+    void asyncTimeoutIsRecordedOnceAsATimeout() throws Exception {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, startAsync());
+
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        response.setStatus(503);
+        asyncContext.complete();
+
+        assertThat(responseSize("TIMEOUT").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("http.server.response.size").summaries()).hasSize(1);
+        assertThat(meterRegistry.find("http.server.requests.statements").tag("outcome", "TIMEOUT").summary()).isNotNull();
+    }
+
+    @Test
+    void asyncErrorIsRecordedOnceAsAnError() throws Exception {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, startAsync());
+
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(new AsyncEvent(asyncContext, new IllegalStateException("client went away")));
+        }
+        asyncContext.complete();
+
+        assertThat(responseSize("ERROR").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("http.server.response.size").summaries()).hasSize(1);
+    }
+
+    private DistributionSummary responseSize(String outcome) {
+        return meterRegistry.get("http.server.response.size")
+                .tags("method", "GET", "uri", "/api/expenses/export", "outcome", outcome)
+                .summary();
+    }
+
+    private static FilterChain startAsync() {
+        return (request, response) -> request.startAsync(request, response);
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses/export");
+        request.setAsyncSupported(true);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/expenses/export");
+        return request;
+    }
+}
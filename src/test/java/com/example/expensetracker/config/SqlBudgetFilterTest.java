@@ -0,0 +1,94 @@
+package com.example.expensetracker.config;
+
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SqlBudgetFilterTest {
+
+    private final SqlStatementTracker statementTracker = new SqlStatementTracker();
+
+    @Test
+    void requestWithinBudgetPassesQuietly(CapturedOutput output) {
+        SqlBudgetFilter filter = new SqlBudgetFilter(statementTracker, 2, 100, true);
+
+        assertThatNoException().isThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), runStatements(2, 10)));
+        assertThat(output).doesNotContain("SQL statements");
+    }
+
+    @Test
+    void enforcedStatementBudgetFailsTheRequestWithItsStatements() {
+        SqlBudgetFilter filter = new SqlBudgetFilter(statementTracker, 2, 100, true);
+
+        assertThatThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), runStatements(3, 1)))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("GET /api/expenses ran 3 SQL statements in 3 ms (budget 2 statements, 100 ms)")
+                .hasMessageContaining("3x")
+                .hasMessageContaining("select * from expenses where user_id = ?");
+    }
+
+    @Test
+    void enforcedTimeBudgetFailsTheRequest() {
+        SqlBudgetFilter filter = new SqlBudgetFilter(statementTracker, 25, 100, true);
+
+        assertThatThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), runStatements(1, 150)))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("ran 1 SQL statements in 150 ms");
+    }
+
+    @Test
+    void overrunIsLoggedWhenNotEnforced(CapturedOutput output) throws Exception {
+        SqlBudgetFilter filter = new SqlBudgetFilter(statementTracker, 2, 100, false);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), runStatements(3, 1));
+
+        assertThat(output).contains("GET /api/expenses ran 3 SQL statements").contains("select * from expenses where user_id = ?");
+    }
+
+    @Test
+    void expectAtMostCountsStatementsInsideTheRequestScope() throws Exception {
+        SqlBudgetFilter filter = new SqlBudgetFilter(statementTracker, 25, 100, true);
+
+        statementTracker.expectAtMost(3, () -> {
+            filter.doFilter(request(), new MockHttpServletResponse(), runStatements(3, 1));
+            return null;
+        });
+        assertThatThrownBy(() -> statementTracker.expectAtMost(2, () -> {
+            filter.doFilter(request(), new MockHttpServletResponse(), runStatements(3, 1));
+            return null;
+        }))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("Expected at most 2 SQL statements but 3 ran");
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/expenses");
+    }
+
+    /**
+     * A filter chain that reports {@code count} statements of {@code elapsedMs} each to the
+     * tracker, the way the proxied {@code DataSource} does.
+     */
+    private FilterChain runStatements(int count, long elapsedMs) {
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                ExecutionInfo execInfo = new ExecutionInfo();
+                execInfo.setElapsedTime(elapsedMs);
+                statementTracker.afterQuery(execInfo, List.of(new QueryInfo("select * from expenses where user_id = ?")));
+            }
+        };
+    }
+}
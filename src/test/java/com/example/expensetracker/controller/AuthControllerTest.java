@@ -0,0 +1,134 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.AuthResponse;
+import com.example.expensetracker.security.UserPrincipal;
+import com.example.expensetracker.service.RefreshTokenService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Refresh tokens are single use and are checked against the user's token version, so these
+ * tests replay, revoke and expire them through the auth endpoints. Registration compares
+ * emails regardless of case.
+ */
+class AuthControllerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void signUp() {
+        user = createUser();
+    }
+
+    @Test
+    void refreshIssuesANewPairAndTheOldRefreshTokenCannotBeReplayed() throws Exception {
+        AuthResponse issued = refreshTokenService.issueTokens(UserPrincipal.create(user));
+
+        String body = refresh(issued.getRefreshToken())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expiresIn").isNumber())
+                .andReturn().getResponse().getContentAsString();
+        String accessToken = JsonPath.read(body, "$.token");
+        String refreshToken = JsonPath.read(body, "$.refreshToken");
+        assertThat(refreshToken).isNotEqualTo(issued.getRefreshToken());
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        refresh(issued.getRefreshToken()).andExpect(status().isUnauthorized());
+        refresh(refreshToken).andExpect(status().isOk());
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logoutRevokesOnlyThatRefreshToken() throws Exception {
+        AuthResponse laptop = refreshTokenService.issueTokens(UserPrincipal.create(user));
+        AuthResponse phone = refreshTokenService.issueTokens(UserPrincipal.create(user));
+
+        mockMvc.perform(post("/api/auth/logout").contentType(MediaType.APPLICATION_JSON).content(refreshJson(laptop.getRefreshToken())))
+                .andExpect(status().isNoContent());
+
+        refresh(laptop.getRefreshToken()).andExpect(status().isUnauthorized());
+        refresh(phone.getRefreshToken()).andExpect(status().isOk());
+    }
+
+    @Test
+    void logoutAllBumpsTheTokenVersionAndRejectsOlderRefreshTokens() throws Exception {
+        AuthResponse issued = refreshTokenService.issueTokens(UserPrincipal.create(user));
+
+        mockMvc.perform(post("/api/auth/logout-all").header(HttpHeaders.AUTHORIZATION, bearer(user)))
+                .andExpect(status().isNoContent());
+        assertThat(jdbcTemplate.queryForObject("select token_version from users where id = ?", Integer.class, user.getId()))
+                .isEqualTo(user.getTokenVersion() + 1);
+        refresh(issued.getRefreshToken()).andExpect(status().isUnauthorized());
+
+        // A login that read the user before the revoke stores its token with the old version.
+        AuthResponse racing = refreshTokenService.issueTokens(UserPrincipal.create(user));
+        refresh(racing.getRefreshToken()).andExpect(status().isUnauthorized());
+
+        User current = userRepository.findById(user.getId()).orElseThrow();
+        refresh(refreshTokenService.issueTokens(UserPrincipal.create(current)).getRefreshToken()).andExpect(status().isOk());
+    }
+
+    @Test
+    void expiredRefreshTokenIsRefused() throws Exception {
+        AuthResponse issued = refreshTokenService.issueTokens(UserPrincipal.create(user));
+        jdbcTemplate.update("update refresh_tokens set expires_at = now() - interval '1 second' where user_id = ?", user.getId());
+
+        refresh(issued.getRefreshToken()).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void unknownRefreshTokenIsRefused() throws Exception {
+        refresh("not-a-refresh-token").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void registeringAnEmailThatDiffersOnlyInCaseIsAConflict() throws Exception {
+        register(user.getEmail().toUpperCase(Locale.ROOT)).andExpect(status().isConflict());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users where lower(email) = ?", Long.class, user.getEmail()))
+                .isEqualTo(1);
+
+        register("new." + user.getEmail()).andExpect(status().isOk());
+    }
+
+    private ResultActions register(String email) throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"newcomer\",\"email\":\"" + email + "\",\"password\":\"secret-password\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON).content(refreshJson(refreshToken)));
+    }
+
+    private static String refreshJson(String refreshToken) {
+        return "{\"refreshToken\":\"" + refreshToken + "\"}";
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Category names are unique per user through the {@value Category#UNIQUE_NAME_CONSTRAINT}
+ * constraint, which a create or rename that clashes hits and is answered with 409.
+ */
+class CategoryControllerTest extends AbstractIntegrationTest {
+
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void createCategories() {
+        user = createUser();
+        food = createCategory(user, "Food");
+        createCategory(user, "Rent");
+    }
+
+    @Test
+    void creatingADuplicateNameIsAConflict() throws Exception {
+        mockMvc.perform(withName(post("/api/categories"), user, "Food"))
+                .andExpect(status().isConflict());
+        assertThat(categoryRepository.findAll()).filteredOn(category -> category.getUser().getId().equals(user.getId()))
+                .hasSize(2);
+    }
+
+    @Test
+    void renamingOntoAnotherCategoryIsAConflict() throws Exception {
+        mockMvc.perform(withName(put("/api/categories/" + food.getId()), user, "Rent"))
+                .andExpect(status().isConflict());
+        assertThat(categoryRepository.findById(food.getId()).orElseThrow().getName()).isEqualTo("Food");
+    }
+
+    @Test
+    void theSameNameIsFreeForAnotherUser() throws Exception {
+        User other = createUser();
+
+        mockMvc.perform(withName(post("/api/categories"), other, "Food"))
+                .andExpect(status().isCreated());
+    }
+
+    private MockHttpServletRequestBuilder withName(MockHttpServletRequestBuilder request, User owner, String name) {
+        return request.header(HttpHeaders.AUTHORIZATION, bearer(owner))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\"}");
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.config.SqlStatementTracker;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.ExpenseFilter;
+import com.example.expensetracker.payload.ExpenseRequest;
+import com.example.expensetracker.service.ExpenseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins how many SQL statements each expense, category and summary endpoint may run, so a new
+ * N+1 or a dropped cache fails here instead of showing up as a slow-request log line. Budgets are
+ * for a cold user, whose caches and id blocks are not yet populated.
+ */
+class EndpointStatementBudgetTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private SqlStatementTracker statementTracker;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    private User user;
+    private Category category;
+    private Long expenseId;
+
+    @BeforeEach
+    void createExpenses() {
+        user = createUser();
+        category = createCategory(user, "Food");
+        List<ExpenseRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            requests.add(expenseRequest(category, "3.40", LocalDate.of(2025, 1 + i % 2, 1 + i % 28), "Coffee " + i));
+        }
+        expenseService.createExpenses(requests, user.getId());
+        expenseId = expenseService.getExpensesForUser(user.getId(), new ExpenseFilter(), null, 1).get(0).getId();
+    }
+
+    @Test
+    void expenseReadsStayWithinBudget() throws Exception {
+        // The data-version lookup behind the weak ETag, then the page.
+        perform(2, get("/api/expenses").param("size", "100")).andExpect(status().isOk());
+        perform(2, get("/api/expenses/search").param("q", "coffee")).andExpect(status().isOk());
+        perform(1, get("/api/expenses/" + expenseId)).andExpect(status().isOk());
+    }
+
+    @Test
+    void expenseWritesStayWithinBudget() throws Exception {
+        perform(4, post("/api/expenses").contentType(MediaType.APPLICATION_JSON).content(expenseJson("2025-02-10")))
+                .andExpect(status().isCreated());
+        // Moving an expense to another month adjusts two rollup rows.
+        perform(6, put("/api/expenses/" + expenseId).contentType(MediaType.APPLICATION_JSON).content(expenseJson("2025-03-10")))
+                .andExpect(status().isOk());
+        perform(5, delete("/api/expenses/" + expenseId)).andExpect(status().isNoContent());
+    }
+
+    @Test
+    void batchImportCostDoesNotGrowWithRows() throws Exception {
+        String rows = IntStream.range(0, 200)
+                .mapToObj(i -> expenseJson("2025-02-" + String.format("%02d", 1 + i % 28)))
+                .collect(Collectors.joining(",", "[", "]"));
+
+        perform(4, post("/api/expenses/batch").contentType(MediaType.APPLICATION_JSON).content(rows))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void categoryEndpointsStayWithinBudget() throws Exception {
+        perform(1, get("/api/categories")).andExpect(status().isOk());
+        perform(2, post("/api/categories").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Travel\"}"))
+                .andExpect(status().isCreated());
+        perform(3, put("/api/categories/" + category.getId()).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Meals\"}"))
+                .andExpect(status().isOk());
+
+        Category unused = createCategory(user, "Unused");
+        perform(4, delete("/api/categories/" + unused.getId())).andExpect(status().isNoContent());
+    }
+
+    @Test
+    void summariesAreOneStatementEach() throws Exception {
+        // Whole months are answered from the rollup table, other ranges from the expenses.
+        perform(1, get("/api/expenses/summary/by-category").param("from", "2025-01-01").param("to", "2025-02-28"))
+                .andExpect(status().isOk());
+        perform(1, get("/api/expenses/summary/by-category").param("from", "2025-01-05").param("to", "2025-02-20"))
+                .andExpect(status().isOk());
+        perform(1, get("/api/expenses/summary/by-period").param("from", "2025-01-01").param("to", "2025-02-28"))
+                .andExpect(status().isOk());
+        perform(1, get("/api/expenses/summary/by-period").param("from", "2025-01-05").param("to", "2025-02-20")
+                .param("granularity", "week"))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions perform(int maxStatements, MockHttpServletRequestBuilder request) throws Exception {
+        return statementTracker.expectAtMost(maxStatements,
+                () -> mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, bearer(user))));
+    }
+
+    private String expenseJson(String date) {
+        return "{\"amount\":4.50,\"date\":\"" + date + "\",\"description\":\"Lunch\",\"categoryId\":" + category.getId() + "}";
+    }
+}
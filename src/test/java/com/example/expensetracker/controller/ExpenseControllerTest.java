@@ -0,0 +1,193 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.config.SqlStatementTracker;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.CategoryRequest;
+import com.example.expensetracker.payload.ExpenseRequest;
+import com.example.expensetracker.service.DataVersionService;
+import com.example.expensetracker.service.CategoryService;
+import com.example.expensetracker.service.ExpenseService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ExpenseControllerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private SqlStatementTracker statementTracker;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 120})
+    void listingExpensesReadsThePageInOneStatementWhateverTheRowCount(int rows) throws Exception {
+        User user = createUser();
+        Category category = createCategory(user, "Groceries");
+        List<ExpenseRequest> requests = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            requests.add(expenseRequest(category, "12.50", LocalDate.of(2025, 3, 1).plusDays(i % 28), "Expense " + i));
+        }
+        expenseService.createExpenses(requests, user.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        String etag = mockMvc.perform(get("/api/expenses").param("size", "100").header(HttpHeaders.AUTHORIZATION, bearer(user)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(Math.min(rows, 100)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        long listingStatements = statistics.getPrepareStatementCount();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+
+        // A 304 runs only the data-version lookup behind the weak ETag, which the 200 shares.
+        statistics.clear();
+        mockMvc.perform(get("/api/expenses").param("size", "100")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        long etagStatements = statistics.getPrepareStatementCount();
+        assertThat(etagStatements).isEqualTo(1);
+
+        assertThat(listingStatements - etagStatements).isEqualTo(1);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWith304AndAnEmptyBodyFromTheDataVersionAlone() throws Exception {
+        User user = createUser();
+        Category category = createCategory(user, "Groceries");
+        expenseService.createExpense(expenseRequest(category, "12.50", LocalDate.of(2025, 3, 1), "Bread"), user.getId());
+        String etag = listEtag(user, "/api/expenses");
+
+        // One statement: the data-version lookup, and no page query.
+        String body = statementTracker.expectAtMost(1, () -> mockMvc.perform(get("/api/expenses")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn().getResponse().getContentAsString());
+        assertThat(body).isEmpty();
+    }
+
+    @Test
+    void writeThatBumpsTheDataVersionMakesTheOldEtagMiss() throws Exception {
+        User user = createUser();
+        Category category = createCategory(user, "Groceries");
+        String expensesEtag = listEtag(user, "/api/expenses");
+        String categoriesEtag = listEtag(user, "/api/categories");
+
+        mockMvc.perform(post("/api/expenses").header(HttpHeaders.AUTHORIZATION, bearer(user))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":4.50,\"date\":\"2025-03-02\",\"description\":\"Milk\",\"categoryId\":" + category.getId() + "}"))
+                .andExpect(status().isCreated());
+
+        String newEtag = mockMvc.perform(get("/api/expenses")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                        .header(HttpHeaders.IF_NONE_MATCH, expensesEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].description").value("Milk"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(expensesEtag);
+
+        // Both lists share the user's data version, so an expense write also misses the category ETag.
+        mockMvc.perform(get("/api/categories")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                        .header(HttpHeaders.IF_NONE_MATCH, categoriesEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void anotherUsersEtagNeverMatches() throws Exception {
+        User owner = createUser();
+        User other = createUser();
+        createCategory(owner, "Groceries");
+        createCategory(other, "Groceries");
+        assertThat(dataVersionService.getDataVersion(other.getId())).isEqualTo(dataVersionService.getDataVersion(owner.getId()));
+        String ownerEtag = listEtag(owner, "/api/expenses");
+
+        mockMvc.perform(get("/api/expenses")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(other))
+                        .header(HttpHeaders.IF_NONE_MATCH, ownerEtag))
+                .andExpect(status().isOk());
+    }
+
+    private String listEtag(User user, String path) throws Exception {
+        return mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, bearer(user)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void categoryDeletedBehindTheCacheIsRefusedAndEvicted() throws Exception {
+        User user = createUser();
+
+        postExpenses(user, "/api/expenses", expenseJson(cachedThenDeletedElsewhere(user)))
+                .andExpect(status().isBadRequest());
+        assertThat(categoryService.getCategoriesForUser(user.getId())).isEmpty();
+
+        postExpenses(user, "/api/expenses/batch", "[" + expenseJson(cachedThenDeletedElsewhere(user)) + "]")
+                .andExpect(status().isBadRequest());
+        assertThat(categoryService.getCategoriesForUser(user.getId())).isEmpty();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from expenses where user_id = ?", Long.class, user.getId())).isZero();
+    }
+
+    /**
+     * Caches a new category, then deletes it the way another instance would, without evicting
+     * this instance's cache entry.
+     */
+    private Long cachedThenDeletedElsewhere(User user) {
+        CategoryRequest request = new CategoryRequest();
+        request.setName("Groceries");
+        categoryService.createCategory(request, user.getId());
+        Long categoryId = categoryService.getCategoriesForUser(user.getId()).get(0).getId();
+        jdbcTemplate.update("delete from categories where id = ?", categoryId);
+        return categoryId;
+    }
+
+    private ResultActions postExpenses(User user, String path, String body) throws Exception {
+        return mockMvc.perform(post(path)
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private static String expenseJson(Long categoryId) {
+        return "{\"amount\":4.50,\"date\":\"2025-03-02\",\"description\":\"Milk\",\"categoryId\":" + categoryId + "}";
+    }
+}
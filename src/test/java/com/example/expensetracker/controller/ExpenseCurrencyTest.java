@@ -0,0 +1,84 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The user's base currency is USD. The bundled rates put 100 USD at 91.27 EUR through 2024 and
+ * at 96.89 EUR from 2025-01-02; the first rates take effect on 2024-01-02.
+ */
+class ExpenseCurrencyTest extends AbstractIntegrationTest {
+
+    private User user;
+    private Category travel;
+
+    @BeforeEach
+    void createCategory() {
+        user = createUser();
+        travel = createCategory(user, "Travel");
+    }
+
+    @Test
+    void foreignAmountIsStoredWithItsBaseAmountOnTheExpenseDate() throws Exception {
+        create("96.89", "EUR", "2025-03-02")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.amount").value(96.89))
+                .andExpect(jsonPath("$.currency").value("EUR"))
+                .andExpect(jsonPath("$.baseAmount").value(100.00));
+        create("91.27", "EUR", "2024-06-15")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.baseAmount").value(100.00));
+    }
+
+    @Test
+    void amountWithoutACurrencyIsInTheBaseCurrency() throws Exception {
+        create("12.50", null, "2025-03-02")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.currency").value("USD"))
+                .andExpect(jsonPath("$.baseAmount").value(12.50));
+    }
+
+    @Test
+    void summariesAddUpBaseAmounts() throws Exception {
+        create("96.89", "EUR", "2025-03-02").andExpect(status().isCreated());
+        create("25.00", null, "2025-03-03").andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/expenses/summary/by-category")
+                        .param("from", "2025-03-01")
+                        .param("to", "2025-03-31")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].categoryName").value("Travel"))
+                .andExpect(jsonPath("$[0].total").value(125.00))
+                .andExpect(jsonPath("$[0].count").value(2));
+    }
+
+    @Test
+    void unknownOrMalformedCurrencyOrMissingRateIsRejected() throws Exception {
+        create("10.00", "XYZ", "2025-03-02").andExpect(status().isBadRequest());
+        create("10.00", "EUR", "2023-12-31").andExpect(status().isBadRequest());
+        create("10.00", "eur", "2025-03-02")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Currency must be a three-letter ISO 4217 code"));
+    }
+
+    private ResultActions create(String amount, String currency, String date) throws Exception {
+        String currencyField = currency != null ? ",\"currency\":\"" + currency + "\"" : "";
+        return mockMvc.perform(post("/api/expenses")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\":" + amount + currencyField + ",\"date\":\"" + date
+                        + "\",\"description\":\"Trip\",\"categoryId\":" + travel.getId() + "}"));
+    }
+}
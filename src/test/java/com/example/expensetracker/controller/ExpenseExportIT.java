@@ -0,0 +1,158 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.ExpenseTrackerApplication;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.ExpenseRequest;
+import com.example.expensetracker.repository.ExpenseJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a million rows from a copy of the application running in its own JVM with a heap far
+ * too small to hold them, so the export only passes if rows are streamed from the database to the
+ * response. The copy shares the embedded database with this test's context.
+ * <p>
+ * Takes about two minutes, so it runs under failsafe in {@code mvn verify} rather than with the
+ * unit tests; {@code ExpenseExportTest} covers the streaming set-up on every build.
+ */
+class ExpenseExportIT extends AbstractIntegrationTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int SEED_CHUNK = 10_000;
+
+    /**
+     * Enough for the application at rest but well under the few hundred megabytes the rows would
+     * take as result objects.
+     */
+    private static final String MAX_HEAP = "-Xmx96m";
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Autowired
+    private ExpenseJdbcRepository expenseJdbcRepository;
+
+    @Test
+    void exportsAMillionRowsWithASmallHeap() throws Exception {
+        User user = createUser();
+        Category category = createCategory(user, "Bulk");
+        seedExpenses(user, category);
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Path log = Files.createTempFile("expense-export-", ".log");
+        Process application = startApplication(port, log.toFile());
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            awaitStartup(client, application, port);
+
+            HttpResponse<InputStream> response = client.send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/expenses/export?format=csv"))
+                            .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            assertThat(response.statusCode()).isEqualTo(200);
+            long lines = countLines(response.body());
+
+            assertThat(application.isAlive()).as("exporting application still running").isTrue();
+            assertThat(Files.readString(log)).doesNotContain("OutOfMemoryError");
+            assertThat(lines).isEqualTo(ROWS + 1L);
+        } finally {
+            application.destroy();
+            application.waitFor();
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private void seedExpenses(User user, Category category) {
+        List<ExpenseRequest> rows = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < SEED_CHUNK; i++) {
+            rows.add(expenseRequest(category, "9.99", LocalDate.of(2020, 1, 1).plusDays(i % 1500), "Bulk expense " + i));
+        }
+        List<BigDecimal> baseAmounts = Collections.nCopies(SEED_CHUNK, new BigDecimal("9.99"));
+        for (int seeded = 0; seeded < ROWS; seeded += SEED_CHUNK) {
+            expenseJdbcRepository.insertAll(user.getId(), expenseJdbcRepository.allocateIds(SEED_CHUNK), rows, baseAmounts,
+                    user.getBaseCurrency(), 0);
+        }
+    }
+
+    private static Process startApplication(int port, File log) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        // Exiting on OOM rather than limping on makes a failure show up as a dead process and a cut-off export.
+        return new ProcessBuilder(
+                java, MAX_HEAP, "-XX:+ExitOnOutOfMemoryError", "-Dspring.devtools.restart.enabled=false",
+                "-cp", System.getProperty("java.class.path"),
+                ExpenseTrackerApplication.class.getName(),
+                "--spring.datasource.url=" + jdbcUrl(),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--spring.r2dbc.url=" + r2dbcUrl(),
+                "--spring.r2dbc.password=",
+                "--server.port=" + port,
+                "--app.rollupRebuildCron=-",
+                "--app.refreshTokenCleanupCron=-",
+                "--app.idempotencyCleanupCron=-",
+                "--app.recurringExpenseCron=-",
+                "--logging.level.root=WARN")
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+    }
+
+    private static void awaitStartup(HttpClient client, Process application, int port) throws Exception {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertThat(application.isAlive()).as("application started").isTrue();
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException notListeningYet) {
+                // Keep polling until the server is up.
+            }
+            Thread.sleep(250);
+        }
+        throw new AssertionError("Application did not start within " + STARTUP_TIMEOUT);
+    }
+
+    private static long countLines(InputStream body) throws IOException {
+        long lines = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (body) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.ExpenseRepository;
+import com.example.expensetracker.service.ExpenseService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the pieces that keep the export's memory flat: the rows come from a cursor with a fetch
+ * size, as DTOs rather than entities, and are written from a {@code StreamingResponseBody}.
+ * {@code ExpenseExportIT} runs the whole thing with a million rows and a small heap.
+ */
+class ExpenseExportTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Long lunch;
+    private Long coffee;
+
+    @BeforeEach
+    void createExpenses() {
+        user = createUser();
+        Category category = createCategory(user, "Food");
+        lunch = expenseService.createExpense(expenseRequest(category, "12.50", LocalDate.of(2025, 3, 2), "Lunch, with \"tip\""), user.getId()).getId();
+        coffee = expenseService.createExpense(expenseRequest(category, "3.00", LocalDate.of(2025, 3, 1), "Coffee"), user.getId()).getId();
+    }
+
+    @Test
+    void historyIsReadThroughACursorWithAFetchSize() throws Exception {
+        Method streamByUserId = ExpenseRepository.class.getMethod("streamByUserId", Long.class);
+        QueryHints hints = streamByUserId.getAnnotation(QueryHints.class);
+
+        assertThat(streamByUserId.getReturnType()).isEqualTo(Stream.class);
+        assertThat(Arrays.stream(hints.value()).filter(hint -> hint.name().equals(AvailableHints.HINT_FETCH_SIZE)))
+                .extracting(QueryHint::value)
+                .singleElement()
+                .satisfies(fetchSize -> assertThat(Integer.parseInt(fetchSize)).isPositive());
+    }
+
+    @Test
+    void csvIsStreamedAfterTheRequestThreadReturns() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        MvcResult started = mockMvc.perform(get("/api/expenses/export").header(HttpHeaders.AUTHORIZATION, bearer(user)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        statistics.clear();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"expenses.csv\""))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body).isEqualToNormalizingNewlines("""
+                        id,amount,date,description,categoryName,currency,baseAmount
+                        %d,3.00,2025-03-01,Coffee,Food,USD,3.00
+                        %d,12.50,2025-03-02,\"Lunch, with \"\"tip\"\"\",Food,USD,12.50
+                        """.formatted(coffee, lunch));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void ndjsonIsStreamedOneExpensePerLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/expenses/export").param("format", "ndjson")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.split("\n")).hasSize(2)
+                .allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+        assertThat(body.split("\n")[0]).contains("\"description\":\"Coffee\"");
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.config.IdempotencyFilter;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Retries expense creation through the whole filter chain, with keys claimed in the real
+ * idempotency table rather than a mocked service.
+ */
+class ExpenseIdempotencyTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void createCategory() {
+        user = createUser();
+        food = createCategory(user, "Food");
+    }
+
+    @Test
+    void retryWithTheSameKeyReplaysTheOriginalResponse() throws Exception {
+        MvcResult first = create(user, "key-1", "Lunch")
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn();
+
+        MvcResult retry = create(user, "key-1", "Lunch")
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertThat(retry.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        assertThat(retry.getResponse().getHeader(HttpHeaders.LOCATION)).isEqualTo(first.getResponse().getHeader(HttpHeaders.LOCATION));
+        assertThat(expenseCount(user)).isEqualTo(1);
+    }
+
+    @Test
+    void reusingAKeyForADifferentBodyIsRejected() throws Exception {
+        create(user, "key-1", "Lunch").andExpect(status().isCreated());
+
+        create(user, "key-1", "Dinner").andExpect(status().isUnprocessableEntity());
+        assertThat(expenseCount(user)).isEqualTo(1);
+    }
+
+    @Test
+    void keysAreScopedToTheUser() throws Exception {
+        User other = createUser();
+        Category otherFood = createCategory(other, "Food");
+
+        create(user, "key-1", "Lunch").andExpect(status().isCreated());
+        mockMvc.perform(post("/api/expenses")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(other))
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(expenseJson(otherFood, "Lunch")))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+
+        assertThat(expenseCount(user)).isEqualTo(1);
+        assertThat(expenseCount(other)).isEqualTo(1);
+    }
+
+    @Test
+    void requestsWithoutAKeyAreNotDeduplicated() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/expenses")
+                            .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(expenseJson(food, "Lunch")))
+                    .andExpect(status().isCreated());
+        }
+        assertThat(expenseCount(user)).isEqualTo(2);
+    }
+
+    private ResultActions create(User owner, String key, String description) throws Exception {
+        return mockMvc.perform(post("/api/expenses")
+                .header(HttpHeaders.AUTHORIZATION, bearer(owner))
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(expenseJson(food, description)));
+    }
+
+    private long expenseCount(User owner) {
+        return jdbcTemplate.queryForObject("select count(*) from expenses where user_id = ?", Long.class, owner.getId());
+    }
+
+    private static String expenseJson(Category category, String description) {
+        return "{\"amount\":12.50,\"date\":\"2025-03-02\",\"description\":\"" + description + "\",\"categoryId\":" + category.getId() + "}";
+    }
+}
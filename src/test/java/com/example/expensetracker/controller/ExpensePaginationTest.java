@@ -0,0 +1,104 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.ExpenseRequest;
+import com.example.expensetracker.service.ExpenseService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pages are three rows and four expenses share each date, so most cursors fall between rows
+ * with the same date and only the id breaks the tie.
+ */
+class ExpensePaginationTest extends AbstractIntegrationTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void createExpenses() {
+        user = createUser();
+        food = createCategory(user, "Food");
+        Category rent = createCategory(user, "Rent");
+        List<ExpenseRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            requests.add(expenseRequest(i % 3 == 0 ? rent : food, String.valueOf(1 + i % 5), LocalDate.of(2025, 3, 1 + i / 4), "Expense " + i));
+        }
+        expenseService.createExpenses(requests, user.getId());
+
+        // Another user's expenses on the same dates must never show up.
+        User other = createUser();
+        Category otherFood = createCategory(other, "Food");
+        expenseService.createExpense(expenseRequest(otherFood, "3", LocalDate.of(2025, 3, 2), "Other"), other.getId());
+    }
+
+    @Test
+    void pagingWithoutFiltersReturnsEveryExpenseOnceInOrder() throws Exception {
+        List<Long> expected = jdbcTemplate.queryForList(
+                "select id from expenses where user_id = ? order by date desc, id desc", Long.class, user.getId());
+
+        assertThat(expected).hasSize(14);
+        assertThat(pageThrough(request -> request)).isEqualTo(expected);
+    }
+
+    @Test
+    void pagingWithFiltersReturnsEveryMatchOnceInOrder() throws Exception {
+        List<Long> expected = jdbcTemplate.queryForList("""
+                select id from expenses
+                where user_id = ? and category_id = ? and date between ? and ? and base_amount between ? and ?
+                order by date desc, id desc
+                """, Long.class, user.getId(), food.getId(), LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 4), 2, 4);
+
+        assertThat(expected).hasSizeGreaterThan(PAGE_SIZE);
+        assertThat(pageThrough(request -> request
+                .param("categoryId", food.getId().toString())
+                .param("from", "2025-03-02")
+                .param("to", "2025-03-04")
+                .param("minAmount", "2")
+                .param("maxAmount", "4")))
+                .isEqualTo(expected);
+    }
+
+    private List<Long> pageThrough(UnaryOperator<MockHttpServletRequestBuilder> filters) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = filters.apply(get("/api/expenses")
+                    .param("size", String.valueOf(PAGE_SIZE))
+                    .header(HttpHeaders.AUTHORIZATION, bearer(user)));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+            List<Number> page = JsonPath.read(body, "$.items[*].id");
+            assertThat(page).hasSizeBetween(1, PAGE_SIZE);
+            page.forEach(id -> ids.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+        return ids;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.service.ExpenseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Searches descriptions through the endpoint, so the query text goes through the same
+ * sanitising as a client's before it reaches {@code to_tsquery}.
+ */
+class ExpenseSearchTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    private User user;
+
+    @BeforeEach
+    void createExpenses() {
+        user = createUser();
+        Category food = createCategory(user, "Food");
+        expenseService.createExpense(expenseRequest(food, "3.00", LocalDate.of(2025, 3, 5), "Morning coffee"), user.getId());
+        expenseService.createExpense(expenseRequest(food, "9.00", LocalDate.of(2025, 3, 1), "Coffee, coffee and more coffee"), user.getId());
+        expenseService.createExpense(expenseRequest(food, "12.50", LocalDate.of(2025, 3, 3), "Lunch"), user.getId());
+
+        User other = createUser();
+        expenseService.createExpense(expenseRequest(createCategory(other, "Food"), "4.00", LocalDate.of(2025, 3, 4), "Coffee"), other.getId());
+    }
+
+    @Test
+    void wordPrefixesMatchFullTextBestRankFirst() throws Exception {
+        search("coff")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fuzzy").value(false))
+                .andExpect(jsonPath("$.items[*].description").value(contains("Coffee, coffee and more coffee", "Morning coffee")));
+    }
+
+    @Test
+    void everyWordMustMatch() throws Exception {
+        search("morning COFFEE")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fuzzy").value(false))
+                .andExpect(jsonPath("$.items[*].description").value(contains("Morning coffee")));
+    }
+
+    @Test
+    void typoFallsBackToTrigramSimilarity() throws Exception {
+        search("cofee")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fuzzy").value(true))
+                .andExpect(jsonPath("$.items[*].description").value(containsInAnyOrder("Coffee, coffee and more coffee", "Morning coffee")));
+    }
+
+    @Test
+    void pagesAreCutByOneExtraRow() throws Exception {
+        search("coffee", "size", "1")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].description").value(contains("Coffee, coffee and more coffee")))
+                .andExpect(jsonPath("$.nextPage").value(1));
+        search("coffee", "size", "1", "page", "1")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].description").value(contains("Morning coffee")))
+                .andExpect(jsonPath("$.nextPage").doesNotExist());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"coffee &", "| coffee", "coff:*", "(coffee", "coffee)", "!coffee", "'coffee'"})
+    void tsqueryOperatorsAreTreatedAsSeparators(String query) throws Exception {
+        search(query)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].description").value(contains("Coffee, coffee and more coffee", "Morning coffee")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"&", "|", ":*", "(", "!", " "})
+    void queryWithoutLettersOrDigitsIsRejected(String query) throws Exception {
+        search(query).andExpect(status().isBadRequest());
+    }
+
+    private ResultActions search(String query, String... params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/expenses/search").param("q", query).header(HttpHeaders.AUTHORIZATION, bearer(user));
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        return mockMvc.perform(request);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.expensetracker.fx;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against the bundled {@code fx/rates.csv}, whose rates take effect on 2024-01-02 and
+ * change on 2025-01-02.
+ */
+class FxRateTableTest {
+
+    private static FxRateTable rates;
+
+    @BeforeAll
+    static void loadBundledRates() throws IOException {
+        try (Reader reader = new InputStreamReader(FxRateTableTest.class.getResourceAsStream("/fx/rates.csv"), StandardCharsets.UTF_8)) {
+            rates = FxRateTable.load(reader);
+        }
+    }
+
+    @Test
+    void rateEffectiveOnTheExactDateIsUsed() {
+        assertThat(rates.convert(new BigDecimal("100"), "USD", "EUR", LocalDate.of(2025, 1, 2))).isEqualByComparingTo("96.89");
+        assertThat(rates.convert(new BigDecimal("10"), "USD", "JPY", LocalDate.of(2025, 1, 2))).isEqualByComparingTo("1579.21");
+    }
+
+    @Test
+    void dateBetweenRatesUsesThePreviousRate() {
+        assertThat(rates.convert(new BigDecimal("10"), "USD", "JPY", LocalDate.of(2025, 1, 1))).isEqualByComparingTo("1421.32");
+        assertThat(rates.convert(new BigDecimal("100"), "USD", "EUR", LocalDate.of(2024, 6, 15))).isEqualByComparingTo("91.27");
+        // Neither side is the reference currency.
+        assertThat(rates.convert(new BigDecimal("100"), "USD", "GBP", LocalDate.of(2024, 6, 15))).isEqualByComparingTo("79.22");
+    }
+
+    @Test
+    void dateAfterTheLastRateUsesTheLastRate() {
+        assertThat(rates.convert(new BigDecimal("100"), "USD", "EUR", LocalDate.of(2030, 1, 1))).isEqualByComparingTo("96.89");
+    }
+
+    @Test
+    void dateBeforeTheFirstRateHasNoRate() {
+        assertThatThrownBy(() -> rates.convert(new BigDecimal("100"), "USD", "EUR", LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(FxRateNotFoundException.class)
+                .hasMessage("No USD exchange rate on or before 2024-01-01");
+    }
+
+    @Test
+    void sameCurrencyIsReturnedUnchangedWithoutALookup() {
+        BigDecimal amount = new BigDecimal("12.345");
+
+        assertThat(rates.convert(amount, "USD", "USD", LocalDate.of(2025, 3, 1))).isSameAs(amount);
+        // Even on a date with no rate, and for a currency the table does not know.
+        assertThat(rates.convert(amount, "USD", "USD", LocalDate.of(2000, 1, 1))).isSameAs(amount);
+        assertThat(rates.convert(amount, "XYZ", "XYZ", LocalDate.of(2025, 3, 1))).isSameAs(amount);
+    }
+
+    @Test
+    void unknownCurrencyIsRejected() {
+        assertThat(rates.supports("USD")).isTrue();
+        assertThat(rates.supports("XYZ")).isFalse();
+        assertThatThrownBy(() -> rates.convert(BigDecimal.ONE, "XYZ", "EUR", LocalDate.of(2025, 3, 1)))
+                .isInstanceOf(FxRateNotFoundException.class)
+                .hasMessage("Unsupported currency: XYZ");
+    }
+
+    @Test
+    void ratesListedOutOfOrderAreSearchedByDate() throws IOException {
+        FxRateTable table = FxRateTable.load(new StringReader("""
+                # comment
+                date,currency,rate
+                2024-03-01,USD,3
+                2024-01-01,EUR,1
+                2024-01-01,USD,1
+                2024-02-01,USD,2
+                """));
+
+        assertThat(table.convert(BigDecimal.TEN, "EUR", "USD", LocalDate.of(2024, 1, 31))).isEqualByComparingTo("10.00");
+        assertThat(table.convert(BigDecimal.TEN, "EUR", "USD", LocalDate.of(2024, 2, 1))).isEqualByComparingTo("20.00");
+        assertThat(table.convert(BigDecimal.TEN, "EUR", "USD", LocalDate.of(2024, 2, 29))).isEqualByComparingTo("20.00");
+        assertThat(table.convert(BigDecimal.TEN, "EUR", "USD", LocalDate.of(2024, 3, 1))).isEqualByComparingTo("30.00");
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.expensetracker.job;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.service.ExpenseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The reconcile runs over every user, so each test first brings the whole table in line and
+ * then damages one user's rollup.
+ */
+class ExpenseRollupRebuildJobTest extends AbstractIntegrationTest {
+
+    private static final String ROLLUP_OF_USER =
+            "select category_id, month, total, count from expense_monthly_rollup where user_id = ? order by category_id, month";
+
+    @Autowired
+    private ExpenseRollupRebuildJob rebuildJob;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void createExpenses() {
+        rebuildJob.reconcile();
+        user = createUser();
+        food = createCategory(user, "Food");
+        Category rent = createCategory(user, "Rent");
+        expenseService.createExpense(expenseRequest(food, "12.50", LocalDate.of(2025, 3, 4), "Lunch"), user.getId());
+        expenseService.createExpense(expenseRequest(food, "7.50", LocalDate.of(2025, 3, 20), "Lunch"), user.getId());
+        expenseService.createExpense(expenseRequest(food, "3.00", LocalDate.of(2025, 4, 1), "Coffee"), user.getId());
+        expenseService.createExpense(expenseRequest(rent, "900.00", LocalDate.of(2025, 3, 1), "Rent"), user.getId());
+    }
+
+    @Test
+    void driftedBucketsAreRepairedAndOthersLeftAlone() {
+        List<Map<String, Object>> expected = jdbcTemplate.queryForList(ROLLUP_OF_USER, user.getId());
+        jdbcTemplate.update("update expense_monthly_rollup set total = 1, count = 9 where user_id = ? and category_id = ? and month = ?",
+                user.getId(), food.getId(), LocalDate.of(2025, 3, 1));
+        jdbcTemplate.update("delete from expense_monthly_rollup where user_id = ? and month = ?", user.getId(), LocalDate.of(2025, 4, 1));
+        jdbcTemplate.update("insert into expense_monthly_rollup (user_id, category_id, month, total, count) values (?, ?, ?, 50, 2)",
+                user.getId(), food.getId(), LocalDate.of(2024, 12, 1));
+
+        assertThat(rebuildJob.reconcile()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList(ROLLUP_OF_USER, user.getId())).isEqualTo(expected);
+
+        assertThat(rebuildJob.reconcile()).isZero();
+    }
+
+    @Test
+    void emptiedBucketsAreDeleted() {
+        Long lunch = expenseService.createExpense(expenseRequest(food, "4.00", LocalDate.of(2025, 5, 2), "Lunch"), user.getId()).getId();
+        expenseService.deleteExpense(lunch, user.getId());
+        // The write path leaves a zero row behind.
+        assertThat(jdbcTemplate.queryForObject("select count(*) from expense_monthly_rollup where user_id = ? and month = ?",
+                Integer.class, user.getId(), LocalDate.of(2025, 5, 1))).isEqualTo(1);
+
+        assertThat(rebuildJob.reconcile()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from expense_monthly_rollup where user_id = ? and month = ?",
+                Integer.class, user.getId(), LocalDate.of(2025, 5, 1))).isZero();
+    }
+
+    @Test
+    void runIsSkippedWhileAnotherNodeHoldsTheLock() throws Exception {
+        jdbcTemplate.update("update expense_monthly_rollup set total = 1 where user_id = ? and category_id = ? and month = ?",
+                user.getId(), food.getId(), LocalDate.of(2025, 3, 1));
+
+        try (Connection otherNode = dataSource.getConnection(); Statement statement = otherNode.createStatement()) {
+            otherNode.setAutoCommit(false);
+            statement.execute("select pg_advisory_xact_lock(hashtext('expense_monthly_rollup'))");
+            assertThat(rebuildJob.reconcile()).isZero();
+            otherNode.rollback();
+        }
+        assertThat(total(food, LocalDate.of(2025, 3, 1))).isEqualByComparingTo("1");
+
+        assertThat(rebuildJob.reconcile()).isEqualTo(1);
+        assertThat(total(food, LocalDate.of(2025, 3, 1))).isEqualByComparingTo("20.00");
+    }
+
+    private BigDecimal total(Category category, LocalDate month) {
+        return jdbcTemplate.queryForObject("select total from expense_monthly_rollup where user_id = ? and category_id = ? and month = ?",
+                BigDecimal.class, user.getId(), category.getId(), month);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.expensetracker.reactive.repository;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.ExpenseCursor;
+import com.example.expensetracker.payload.ExpenseFilter;
+import com.example.expensetracker.payload.ExpenseRequest;
+import com.example.expensetracker.payload.ExpenseResponseDto;
+import com.example.expensetracker.reactive.ReactiveReadApplication;
+import com.example.expensetracker.service.ExpenseService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts {@link ReactiveReadApplication} next to the servlet application, whose context creates
+ * the schema and the test data, and pages through the same data shape as
+ * {@code ExpensePaginationTest}: four expenses per date, three per page.
+ */
+class ReactiveExpenseRepositoryTest extends AbstractIntegrationTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static ConfigurableApplicationContext reactiveApplication;
+
+    private User user;
+    private Category food;
+
+    @BeforeAll
+    static void startReactiveApplication() {
+        reactiveApplication = new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .run("--server.port=0",
+                        "--spring.r2dbc.url=" + r2dbcUrl(),
+                        "--spring.r2dbc.username=postgres",
+                        "--spring.r2dbc.password=");
+    }
+
+    @AfterAll
+    static void stopReactiveApplication() {
+        reactiveApplication.close();
+    }
+
+    @BeforeEach
+    void createExpenses() {
+        user = createUser();
+        food = createCategory(user, "Food");
+        Category rent = createCategory(user, "Rent");
+        List<ExpenseRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            requests.add(expenseRequest(i % 3 == 0 ? rent : food, String.valueOf(1 + i % 5), LocalDate.of(2025, 3, 1 + i / 4), "Expense " + i));
+        }
+        expenseService.createExpenses(requests, user.getId());
+    }
+
+    @Test
+    void pagingWithoutFiltersReturnsEveryExpenseOnceInOrder() {
+        List<Long> expected = jdbcTemplate.queryForList(
+                "select id from expenses where user_id = ? order by date desc, id desc", Long.class, user.getId());
+
+        assertThat(pageThrough(new ExpenseFilter())).isEqualTo(expected);
+    }
+
+    @Test
+    void pagingWithFiltersReturnsEveryMatchOnceInOrder() {
+        ExpenseFilter filter = new ExpenseFilter();
+        filter.setCategoryId(food.getId());
+        filter.setFrom(LocalDate.of(2025, 3, 2));
+        filter.setTo(LocalDate.of(2025, 3, 4));
+        filter.setMinAmount(new BigDecimal("2"));
+        filter.setMaxAmount(new BigDecimal("4"));
+        List<Long> expected = jdbcTemplate.queryForList("""
+                select id from expenses
+                where user_id = ? and category_id = ? and date between ? and ? and base_amount between ? and ?
+                order by date desc, id desc
+                """, Long.class, user.getId(), food.getId(), LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 4), 2, 4);
+
+        assertThat(expected).hasSizeGreaterThan(PAGE_SIZE);
+        assertThat(pageThrough(filter)).isEqualTo(expected);
+    }
+
+    private List<Long> pageThrough(ExpenseFilter filter) {
+        ReactiveExpenseRepository repository = reactiveApplication.getBean(ReactiveExpenseRepository.class);
+        List<Long> ids = new ArrayList<>();
+        ExpenseCursor cursor = null;
+        List<ExpenseResponseDto> page;
+        do {
+            page = repository.findPage(user.getId(), filter, cursor, PAGE_SIZE).collectList().block();
+            page.forEach(expense -> ids.add(expense.getId()));
+            if (!page.isEmpty()) {
+                ExpenseResponseDto last = page.get(page.size() - 1);
+                cursor = new ExpenseCursor(last.getDate(), last.getId());
+            }
+        } while (page.size() == PAGE_SIZE);
+        return ids;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.config.SqlStatementTracker;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Expense;
+import com.example.expensetracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Expense ids come from {@code expenses_seq} in blocks of {@value Expense#ID_ALLOCATION_SIZE},
+ * shared by Hibernate's pooled optimizer and the JDBC import path.
+ */
+class ExpenseIdAllocationTest extends AbstractIntegrationTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ExpenseJdbcRepository expenseJdbcRepository;
+
+    @Autowired
+    private SqlStatementTracker statementTracker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void createCategory() {
+        user = createUser();
+        category = createCategory(user, "Food");
+    }
+
+    @Test
+    void hibernateInsertsAreBatchedWithOneSequenceCallPerBlock() throws Exception {
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            expenses.add(expense(i));
+        }
+
+        // Three nextval() calls and three insert batches of 50; without batching it is one insert per row.
+        statementTracker.expectAtMost(6, () -> transactionTemplate.execute(status -> expenseRepository.saveAllAndFlush(expenses)));
+
+        assertThat(expenses).extracting(Expense::getId).doesNotHaveDuplicates().doesNotContainNull();
+    }
+
+    @Test
+    void jdbcAllocationAndHibernateNeverHandOutTheSameId() throws Exception {
+        List<Long> allocated = statementTracker.expectAtMost(1, () -> expenseJdbcRepository.allocateIds(ROWS));
+
+        Expense saved = transactionTemplate.execute(status -> expenseRepository.saveAndFlush(expense(0)));
+        Set<Long> ids = new HashSet<>(allocated);
+
+        assertThat(ids).hasSize(ROWS);
+        assertThat(ids).doesNotContain(saved.getId());
+        assertThat(expenseJdbcRepository.allocateIds(ROWS)).doesNotContainAnyElementsOf(ids).doesNotContain(saved.getId());
+    }
+
+    private Expense expense(int i) {
+        Expense expense = new Expense();
+        expense.setUser(user);
+        expense.setCategory(category);
+        expense.setAmount(new BigDecimal("2.50"));
+        expense.setCurrency("USD");
+        expense.setBaseAmount(new BigDecimal("2.50"));
+        expense.setDate(LocalDate.of(2025, 3, 1 + i % 28));
+        expense.setDescription("Expense " + i);
+        return expense;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.config.SqlStatementTracker;
+import com.example.expensetracker.model.BudgetLevel;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.ExpenseMonthlyRollup;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.BudgetAlertDto;
+import com.example.expensetracker.payload.BudgetRequest;
+import com.example.expensetracker.payload.BudgetStatusDto;
+import com.example.expensetracker.payload.BudgetStatusResponse;
+import com.example.expensetracker.repository.ExpenseMonthlyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Budgets are checked on the expense write path against the month's rollup total, so these
+ * tests write expenses through {@link ExpenseService} and read the alerts and rollup rows back.
+ */
+class BudgetServiceTest extends AbstractIntegrationTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+    private static final YearMonth APRIL = YearMonth.of(2025, 4);
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private SqlStatementTracker statementTracker;
+
+    private User user;
+    private Category groceries;
+
+    @BeforeEach
+    void createUserWithBudget() {
+        user = createUser();
+        groceries = createCategory(user, "Groceries");
+        budgetService.setBudget(groceries.getId(), budget("100.00", 80), user.getId());
+    }
+
+    @Test
+    void crossingTheThresholdAndTheBudgetRaisesOneAlertEach() {
+        addExpense(groceries, "50.00", MARCH.atDay(3));
+        assertThat(alerts(MARCH)).isEmpty();
+
+        addExpense(groceries, "35.00", MARCH.atDay(4));
+        assertThat(alerts(MARCH)).extracting(BudgetAlertDto::getLevel).containsExactly(BudgetLevel.WARNING);
+        assertThat(alerts(MARCH).get(0).getSpent()).isEqualByComparingTo("85.00");
+
+        // Further spend within the same level raises nothing new.
+        addExpense(groceries, "5.00", MARCH.atDay(5));
+        assertThat(alerts(MARCH)).hasSize(1);
+
+        addExpense(groceries, "20.00", MARCH.atDay(6));
+        assertThat(alerts(MARCH)).extracting(BudgetAlertDto::getLevel).containsExactly(BudgetLevel.WARNING, BudgetLevel.EXCEEDED);
+        assertThat(alerts(APRIL)).isEmpty();
+    }
+
+    @Test
+    void alertIsNotRepeatedWhenSpendDropsAndCrossesAgain() {
+        addExpense(groceries, "50.00", MARCH.atDay(3));
+        Long crossing = addExpense(groceries, "35.00", MARCH.atDay(4));
+        expenseService.deleteExpense(crossing, user.getId());
+        assertThat(spent(MARCH, groceries)).isEqualByComparingTo("50.00");
+
+        addExpense(groceries, "35.00", MARCH.atDay(5));
+
+        assertThat(alerts(MARCH)).extracting(BudgetAlertDto::getLevel).containsExactly(BudgetLevel.WARNING);
+    }
+
+    @Test
+    void updateMovesTheRollupBetweenMonthsAndCategories() {
+        Category travel = createCategory(user, "Travel");
+        budgetService.setBudget(travel.getId(), budget("30.00", 80), user.getId());
+        Long expense = addExpense(groceries, "40.00", MARCH.atDay(10));
+        assertThat(spent(MARCH, groceries)).isEqualByComparingTo("40.00");
+
+        expenseService.updateExpense(expense, expenseRequest(groceries, "40.00", APRIL.atDay(10), "Moved"), user.getId());
+        assertThat(spent(MARCH, groceries)).isEqualByComparingTo("0.00");
+        assertThat(spent(APRIL, groceries)).isEqualByComparingTo("40.00");
+
+        expenseService.updateExpense(expense, expenseRequest(travel, "40.00", APRIL.atDay(10), "Moved"), user.getId());
+        assertThat(spent(APRIL, groceries)).isEqualByComparingTo("0.00");
+        assertThat(spent(APRIL, travel)).isEqualByComparingTo("40.00");
+
+        // Moving spend into a category checks that category's budget.
+        assertThat(alerts(APRIL)).extracting(BudgetAlertDto::getCategoryId, BudgetAlertDto::getLevel)
+                .containsExactly(tuple(travel.getId(), BudgetLevel.EXCEEDED));
+    }
+
+    @Test
+    void statusReadsTheBudgetsFromTheCache() throws Exception {
+        addExpense(groceries, "85.00", MARCH.atDay(3));
+        budgetService.getBudgetStatus(user.getId(), MARCH);
+
+        // With the user's budgets and categories cached, only the month's rollup rows and alerts are read.
+        BudgetStatusResponse status = statementTracker.expectAtMost(2, () -> budgetService.getBudgetStatus(user.getId(), MARCH));
+        assertThat(status.getBudgets()).extracting(BudgetStatusDto::getCategory, BudgetStatusDto::getLevel)
+                .containsExactly(tuple("Groceries", BudgetLevel.WARNING));
+
+        // A budget write evicts the entry, so the next status sees it.
+        budgetService.setBudget(groceries.getId(), budget("200.00", 80), user.getId());
+        assertThat(budgetService.getBudgetStatus(user.getId(), MARCH).getBudgets())
+                .extracting(BudgetStatusDto::getLevel)
+                .containsExactly(BudgetLevel.OK);
+    }
+
+    private Long addExpense(Category category, String amount, LocalDate date) {
+        return expenseService.createExpense(expenseRequest(category, amount, date, "Shopping"), user.getId()).getId();
+    }
+
+    private List<BudgetAlertDto> alerts(YearMonth month) {
+        return budgetService.getBudgetStatus(user.getId(), month).getAlerts();
+    }
+
+    private BigDecimal spent(YearMonth month, Category category) {
+        return rollupRepository.findByUserIdAndMonth(user.getId(), month.atDay(1)).stream()
+                .filter(rollup -> rollup.getCategoryId().equals(category.getId()))
+                .map(ExpenseMonthlyRollup::getTotal)
+                .findFirst()
+                .orElse(BigDecimal.ZERO);
+    }
+
+    private static BudgetRequest budget(String amount, int alertThresholdPercent) {
+        BudgetRequest request = new BudgetRequest();
+        request.setAmount(new BigDecimal(amount));
+        request.setAlertThresholdPercent(alertThresholdPercent);
+        return request;
+    }
+}
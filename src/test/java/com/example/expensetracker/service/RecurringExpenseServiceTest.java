@@ -0,0 +1,172 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.RecurrenceFrequency;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.RecurringExpenseRequest;
+import com.example.expensetracker.repository.RecurringExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Posting runs over every due rule in the database, so each test starts with none.
+ */
+class RecurringExpenseServiceTest extends AbstractIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Autowired
+    private RecurringExpenseService recurringExpenseService;
+
+    @Autowired
+    private RecurringExpenseRepository recurringExpenseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void deleteRules() {
+        jdbcTemplate.update("delete from recurring_expenses");
+    }
+
+    @Test
+    void ruleThatFailsToPostDoesNotHoldBackTheOthers() {
+        User first = createUser();
+        User failing = createUser();
+        User last = createUser();
+        Long firstRule = createDailyRule(first, createCategory(first, "Bills"), "Parking", TODAY.minusDays(2));
+        Long failingRule = createDailyRule(failing, createCategory(failing, "Bills"), "Rejected", TODAY.minusDays(2));
+        Long lastRule = createDailyRule(last, createCategory(last, "Bills"), "Parking", TODAY.minusDays(2));
+
+        // A database error inside createExpenses for one rule's occurrences only.
+        jdbcTemplate.execute("""
+                create function reject_test_expense() returns trigger language plpgsql as $$
+                begin
+                    if new.description = 'Rejected' then
+                        raise exception 'rejected by test trigger';
+                    end if;
+                    return new;
+                end $$""");
+        jdbcTemplate.execute("create trigger reject_test_expense before insert on expenses "
+                + "for each row execute function reject_test_expense()");
+        int posted;
+        try {
+            posted = recurringExpenseService.postDueOccurrences(TODAY);
+        } finally {
+            jdbcTemplate.execute("drop trigger reject_test_expense on expenses");
+            jdbcTemplate.execute("drop function reject_test_expense()");
+        }
+
+        assertThat(posted).isEqualTo(6);
+        assertThat(expenseCount(first)).isEqualTo(3);
+        assertThat(expenseCount(last)).isEqualTo(3);
+        assertThat(expenseCount(failing)).isZero();
+        assertThat(nextOccurrence(firstRule)).isEqualTo(TODAY.plusDays(1));
+        assertThat(nextOccurrence(lastRule)).isEqualTo(TODAY.plusDays(1));
+        assertThat(nextOccurrence(failingRule)).isEqualTo(TODAY.minusDays(2));
+
+        // The failed rule is still due and posts on the next run.
+        assertThat(recurringExpenseService.postDueOccurrences(TODAY)).isEqualTo(3);
+        assertThat(expenseCount(failing)).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentRunsPostEachOccurrenceOnce() throws Exception {
+        // More rules than one batch, so the two runs contend for the same rows.
+        List<User> users = new ArrayList<>();
+        int rules = 0;
+        for (int u = 0; u < 30; u++) {
+            User user = createUser();
+            Category category = createCategory(user, "Bills");
+            users.add(user);
+            for (int r = 0; r < 15; r++) {
+                createDailyRule(user, category, "Rule " + rules++, TODAY.minusDays(2));
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Callable<Integer> run = () -> {
+                start.await();
+                return recurringExpenseService.postDueOccurrences(TODAY);
+            };
+            Future<Integer> firstRun = executor.submit(run);
+            Future<Integer> secondRun = executor.submit(run);
+            start.countDown();
+
+            assertThat(firstRun.get(2, TimeUnit.MINUTES) + secondRun.get(2, TimeUnit.MINUTES)).isEqualTo(rules * 3);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Long[] userIds = users.stream().map(User::getId).toArray(Long[]::new);
+        String inUsers = "user_id in (" + String.join(",", Collections.nCopies(userIds.length, "?")) + ")";
+        assertThat(jdbcTemplate.queryForObject("select count(*) from expenses where " + inUsers, Integer.class, (Object[]) userIds))
+                .isEqualTo(rules * 3);
+        assertThat(jdbcTemplate.queryForList("select description, date from expenses where " + inUsers
+                + " group by description, date having count(*) > 1", (Object[]) userIds)).isEmpty();
+        assertThat(recurringExpenseService.postDueOccurrences(TODAY)).isZero();
+    }
+
+    @Test
+    void longOverdueRuleCatchesUpOverSeveralRuns() {
+        User user = createUser();
+        // 41 occurrences are due, more than app.recurringExpenseMaxCatchUp (31) in one run.
+        Long rule = createDailyRule(user, createCategory(user, "Bills"), "Rent", TODAY.minusDays(40));
+
+        assertThat(recurringExpenseService.postDueOccurrences(TODAY)).isEqualTo(31);
+        assertThat(nextOccurrence(rule)).isEqualTo(TODAY.minusDays(9));
+
+        assertThat(recurringExpenseService.postDueOccurrences(TODAY)).isEqualTo(10);
+        assertThat(nextOccurrence(rule)).isEqualTo(TODAY.plusDays(1));
+        assertThat(expenseCount(user)).isEqualTo(41);
+    }
+
+    @Test
+    void rejectedOccurrencesAreSkippedAndTheRuleMovesOn() {
+        User user = createUser();
+        Long rule = createDailyRule(user, createCategory(user, "Bills"), "Subscription", TODAY.minusDays(2));
+        // No exchange rate exists for the currency, so createExpenses rejects every occurrence.
+        jdbcTemplate.update("update recurring_expenses set currency = 'XXX' where id = ?", rule);
+
+        assertThat(recurringExpenseService.postDueOccurrences(TODAY)).isZero();
+        assertThat(expenseCount(user)).isZero();
+        assertThat(nextOccurrence(rule)).isEqualTo(TODAY.plusDays(1));
+    }
+
+    private Long createDailyRule(User user, Category category, String description, LocalDate startDate) {
+        RecurringExpenseRequest request = new RecurringExpenseRequest();
+        request.setAmount(new BigDecimal("2.50"));
+        request.setDescription(description);
+        request.setCategoryId(category.getId());
+        request.setFrequency(RecurrenceFrequency.DAILY);
+        request.setStartDate(startDate);
+        return recurringExpenseService.createRecurringExpense(request, user.getId()).getId();
+    }
+
+    private int expenseCount(User user) {
+        return jdbcTemplate.queryForObject("select count(*) from expenses where user_id = ?", Integer.class, user.getId());
+    }
+
+    private LocalDate nextOccurrence(Long ruleId) {
+        return recurringExpenseRepository.findById(ruleId).orElseThrow().getNextOccurrence();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.AbstractIntegrationTest;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.payload.CategoryRequest;
+import com.example.expensetracker.payload.CategoryResponseDto;
+import com.example.expensetracker.payload.SyncExpenseDto;
+import com.example.expensetracker.payload.SyncResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Each user starts at data version 0, and the setup's three writes (a category, two expenses)
+ * take versions 1 to 3.
+ */
+class SyncServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private User user;
+    private Category food;
+    private Long lunch;
+    private Long coffee;
+
+    @BeforeEach
+    void createExpenses() {
+        user = createUser();
+        categoryService.createCategory(categoryRequest("Food"), user.getId());
+        food = categoryRepository.findById(categoryService.getCategoriesForUser(user.getId()).get(0).getId()).orElseThrow();
+        lunch = expenseService.createExpense(expenseRequest(food, "12.50", LocalDate.of(2025, 3, 4), "Lunch"), user.getId()).getId();
+        coffee = expenseService.createExpense(expenseRequest(food, "3.00", LocalDate.of(2025, 3, 5), "Coffee"), user.getId()).getId();
+    }
+
+    @Test
+    void fullSyncReturnsEveryRowAndNoTombstones() {
+        expenseService.deleteExpense(coffee, user.getId());
+
+        SyncResponse full = syncService.getChangesSince(user.getId(), null);
+
+        assertThat(full.getWatermark()).isEqualTo(4);
+        assertThat(full.getExpenses()).extracting(SyncExpenseDto::getId).containsExactly(lunch);
+        assertThat(full.getCategories()).extracting(CategoryResponseDto::getName).containsExactly("Food");
+        assertThat(full.getDeletedExpenseIds()).isEmpty();
+        assertThat(full.getDeletedCategoryIds()).isEmpty();
+    }
+
+    @Test
+    void updateAfterTheWatermarkIsInTheNextDelta() {
+        long watermark = syncService.getChangesSince(user.getId(), null).getWatermark();
+
+        expenseService.updateExpense(lunch, expenseRequest(food, "14.00", LocalDate.of(2025, 3, 4), "Dinner"), user.getId());
+        SyncResponse delta = syncService.getChangesSince(user.getId(), watermark);
+
+        assertThat(delta.getWatermark()).isEqualTo(watermark + 1);
+        assertThat(delta.getExpenses()).extracting(SyncExpenseDto::getId, SyncExpenseDto::getDescription)
+                .containsExactly(tuple(lunch, "Dinner"));
+        assertThat(delta.getCategories()).isEmpty();
+        assertThat(delta.getDeletedExpenseIds()).isEmpty();
+
+        // The next delta, from the returned watermark, is empty again.
+        assertThat(syncService.getChangesSince(user.getId(), delta.getWatermark()).getExpenses()).isEmpty();
+    }
+
+    @Test
+    void deletesAreReturnedAsTombstones() {
+        categoryService.createCategory(categoryRequest("Unused"), user.getId());
+        Long unused = categoryService.getCategoriesForUser(user.getId()).stream()
+                .filter(category -> category.getName().equals("Unused"))
+                .findFirst().orElseThrow().getId();
+        long watermark = syncService.getChangesSince(user.getId(), null).getWatermark();
+
+        expenseService.deleteExpense(coffee, user.getId());
+        categoryService.deleteCategory(unused, user.getId());
+        SyncResponse delta = syncService.getChangesSince(user.getId(), watermark);
+
+        assertThat(delta.getWatermark()).isEqualTo(watermark + 2);
+        assertThat(delta.getExpenses()).isEmpty();
+        assertThat(delta.getCategories()).isEmpty();
+        assertThat(delta.getDeletedExpenseIds()).containsExactly(coffee);
+        assertThat(delta.getDeletedCategoryIds()).containsExactly(unused);
+    }
+
+    @Test
+    void sinceAtOrAfterTheWatermarkReturnsNoChanges() {
+        long watermark = syncService.getChangesSince(user.getId(), null).getWatermark();
+
+        for (long since : new long[] {watermark, watermark + 5}) {
+            SyncResponse delta = syncService.getChangesSince(user.getId(), since);
+            assertThat(delta.getWatermark()).isEqualTo(watermark);
+            assertThat(delta.getExpenses()).isEmpty();
+            assertThat(delta.getCategories()).isEmpty();
+            assertThat(delta.getDeletedExpenseIds()).isEmpty();
+            assertThat(delta.getDeletedCategoryIds()).isEmpty();
+        }
+    }
+
+    @Test
+    void negativeSinceIsRejected() throws Exception {
+        mockMvc.perform(get("/api/sync").param("since", "-1").header(HttpHeaders.AUTHORIZATION, bearer(user)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static CategoryRequest categoryRequest(String name) {
+        CategoryRequest request = new CategoryRequest();
+        request.setName(name);
+        return request;
+    }
+}